@@ -0,0 +1,81 @@
+// k6 부하 테스트: /posts 읽기/쓰기 처리량과 p99 지연.
+//
+// 플랫폼 스레드와 가상 스레드 모드를 같은 시나리오로 비교한다.
+//   ./gradlew bootRun
+//   k6 run --summary-trend-stats="avg,p(50),p(99)" loadtest/posts.js
+//   ./gradlew bootRun --args='--spring.profiles.active=default,virtual'
+//   k6 run --summary-trend-stats="avg,p(50),p(99)" loadtest/posts.js
+//
+// MVC/JPA 읽기와 R2DBC 읽기(/reactive/posts)를 같은 부하로 비교한다. 동시 접속을 크게 늘리고 요청 사이에 쉬게 한다.
+//   k6 run -e STACK=mvc -e VUS=2000 -e READ_SLEEP=0.5 --summary-trend-stats="avg,p(50),p(99)" loadtest/posts.js
+//   k6 run -e STACK=reactive -e VUS=2000 -e READ_SLEEP=0.5 --summary-trend-stats="avg,p(50),p(99)" loadtest/posts.js
+//
+// BASE_URL, VUS, DURATION, STACK(mvc|reactive), READ_SLEEP(초) 환경 변수로 대상과 부하를 바꿀 수 있다.
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '200');
+const DURATION = __ENV.DURATION || '1m';
+const STACK = __ENV.STACK || 'mvc';
+const READ_SLEEP = parseFloat(__ENV.READ_SLEEP || '0');
+const READ_BASE = STACK === 'reactive' ? `${BASE_URL}/reactive/posts` : `${BASE_URL}/posts`;
+
+export const options = {
+    scenarios: {
+        reads: {
+            executor: 'constant-vus',
+            exec: 'read',
+            vus: VUS,
+            duration: DURATION,
+        },
+        writes: {
+            executor: 'constant-vus',
+            exec: 'write',
+            vus: Math.max(1, Math.floor(VUS / 10)),
+            duration: DURATION,
+        },
+    },
+    thresholds: {
+        'http_req_duration{scenario:reads}': ['p(99)<500'],
+        'http_req_duration{scenario:writes}': ['p(99)<1000'],
+    },
+};
+
+export function setup() {
+    const posts = [];
+    for (let i = 0; i < 1000; i++) {
+        posts.push({ title: `title_${i}`, content: `content_${i}`.repeat(50) });
+    }
+    const res = http.post(`${BASE_URL}/posts/batch`, JSON.stringify(posts), {
+        headers: { 'Content-Type': 'application/json' },
+    });
+    return { ids: res.json('items').map((item) => item.id).filter((id) => id) };
+}
+
+export function read(data) {
+    if (Math.random() < 0.5 && data.ids.length > 0) {
+        const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+        const res = http.get(`${READ_BASE}/${id}`, { tags: { name: `GET ${STACK} /posts/{id}` } });
+        check(res, { 'read 200': (r) => r.status === 200 });
+    } else {
+        const page = 1 + Math.floor(Math.random() * 50);
+        const res = http.get(`${READ_BASE}?page=${page}&size=10`, { tags: { name: `GET ${STACK} /posts` } });
+        check(res, { 'read 200': (r) => r.status === 200 });
+    }
+    if (READ_SLEEP > 0) {
+        sleep(READ_SLEEP);
+    }
+}
+
+export function write() {
+    // VU 마다 다른 클라이언트로 보낸다. 허용량을 넘은 요청은 429 로 걸러진다.
+    const res = http.post(`${BASE_URL}/posts`, JSON.stringify({ title: 'load', content: 'load test body' }), {
+        headers: { 'Content-Type': 'application/json', 'X-Client-Id': `k6-${__VU}` },
+        tags: { name: 'POST /posts' },
+    });
+    check(res, {
+        'write 200': (r) => r.status === 200,
+        'write not failed': (r) => r.status === 200 || r.status === 429 || r.status === 503,
+    });
+}
@@ -0,0 +1,78 @@
+package com.howalog.benchmark;
+
+import com.howalog.HowalogApplication;
+import com.howalog.domain.Post;
+import com.howalog.repository.PostRepository;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.howalog.domain.QPost.post;
+
+/**
+ * 벤치마크용 애플리케이션 컨텍스트. 웹 서버 없이 임베디드 H2 메모리 DB 에 띄운다.
+ */
+final class BenchmarkContext {
+
+    private static final int SEED_CHUNK_SIZE = 1_000;
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String database) {
+        return new SpringApplicationBuilder(HowalogApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                        "--logging.level.root=warn",
+                        "--logging.level.org.hibernate.SQL=warn");
+    }
+
+    /**
+     * 이벤트(검색 색인 등)를 거치지 않도록 리포지토리로 바로 넣고 저장된 id 를 돌려준다.
+     */
+    static List<Long> seed(ConfigurableApplicationContext context, int rows, int contentLength) {
+        return seed(context, rows, "가".repeat(contentLength));
+    }
+
+    static List<Long> seed(ConfigurableApplicationContext context, int rows, String content) {
+        PostRepository postRepository = context.getBean(PostRepository.class);
+
+        List<Post> chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+        for (int i = 0; i < rows; i++) {
+            chunk.add(Post.builder()
+                    .title("title_" + i)
+                    .content(content)
+                    .build());
+            if (chunk.size() == SEED_CHUNK_SIZE || i == rows - 1) {
+                postRepository.saveAll(chunk);
+                chunk.clear();
+            }
+        }
+
+        return context.getBean(JPAQueryFactory.class)
+                .select(post.id)
+                .from(post)
+                .orderBy(post.id.asc())
+                .fetch();
+    }
+
+    /**
+     * 같은 글자를 반복하면 압축률이 비현실적으로 높게 나오므로 단어를 섞어 본문을 만든다.
+     */
+    static String text(int length) {
+        String[] words = {"하와로그", "블로그", "글을", "작성하고", "조회한다", "성능", "측정", "캐시",
+                "데이터베이스", "본문은", "길다", "그리고", "목록", "페이지", "2023년", "spring", "jpa", "query"};
+        Random random = new Random(length);
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            text.append(words[random.nextInt(words.length)])
+                    .append(random.nextInt(10) == 0 ? ". " : " ");
+        }
+        return text.substring(0, length);
+    }
+}
@@ -0,0 +1,55 @@
+package com.howalog.benchmark;
+
+import com.howalog.moderation.AhoCorasick;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * 금칙어가 없는 본문 하나를 검사하는 비용. Aho–Corasick 한 번 훑기와 금칙어마다 contains 하는 방식을 비교한다.
+ * build.gradle 의 jmh 블록에 profilers = ['gc'] 를 더하면 gc.alloc.rate.norm 으로 검사당 할당량을 볼 수 있다.
+ */
+@State(Scope.Benchmark)
+public class ModerationBenchmark {
+
+    @Param({"1000", "30000"})
+    private int words;
+
+    @Param({"1000", "20000"})
+    private int contentLength;
+
+    private List<String> bannedWords;
+    private AhoCorasick matcher;
+    private String content;
+
+    @Setup
+    public void setUp() {
+        bannedWords = IntStream.range(0, words)
+                .mapToObj(i -> "금칙" + Integer.toString(i, 36) + "어")
+                .collect(toList());
+        matcher = AhoCorasick.compile(bannedWords);
+        content = BenchmarkContext.text(contentLength);
+    }
+
+    @Benchmark
+    public int ahoCorasick() {
+        return matcher.find(content);
+    }
+
+    @Benchmark
+    public int contains() {
+        for (int i = 0; i < bannedWords.size(); i++) {
+            if (content.contains(bannedWords.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
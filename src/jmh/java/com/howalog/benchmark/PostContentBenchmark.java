@@ -0,0 +1,99 @@
+package com.howalog.benchmark;
+
+import com.howalog.request.PostSearch;
+import com.howalog.response.PostResponse;
+import com.howalog.service.PostService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 압축된 본문으로 글 한개/목록 한 페이지를 캐시 없이 조회하는 시간을 잰다.
+ * 저장 크기는 조회마다 바뀌지 않으므로 setUp 에서 시드한 글 전체의 평문 바이트와 압축 컬럼 바이트를 한 번 재고,
+ * {@link ContentBytes} 카운터로 results.json 에 함께 남긴다.
+ */
+@State(Scope.Benchmark)
+public class PostContentBenchmark {
+
+    @Param({"10000"})
+    private int rows;
+
+    @Param({"1000", "20000"})
+    private int contentLength;
+
+    @Param({"10"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+    private CacheManager cacheManager;
+    private List<Long> ids;
+    private PostSearch postSearch;
+    private long rawBytes;
+    private long storedBytes;
+
+    /**
+     * 조회 횟수와 상관없는 측정값이라 반복마다 같은 값으로 채운다. 누적하지 않는다.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ContentBytes {
+
+        public long rawBytes;
+        public long storedBytes;
+
+        @Setup(Level.Iteration)
+        public void setUp(PostContentBenchmark benchmark) {
+            rawBytes = benchmark.rawBytes;
+            storedBytes = benchmark.storedBytes;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("post_content");
+        postService = context.getBean(PostService.class);
+        cacheManager = context.getBean(CacheManager.class);
+        String content = BenchmarkContext.text(contentLength);
+        ids = BenchmarkContext.seed(context, rows, content);
+        postSearch = PostSearch.builder()
+                .page(1)
+                .size(size)
+                .build();
+
+        rawBytes = (long) content.getBytes(StandardCharsets.UTF_8).length * ids.size();
+        storedBytes = context.getBean(JdbcTemplate.class).queryForObject(
+                "select sum(octet_length(content_data)) from post where id between ? and ?", Long.class,
+                Collections.min(ids), Collections.max(ids));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PostResponse get(ContentBytes bytes) {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        return postService.get(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+    }
+
+    @Benchmark
+    public List<PostResponse> getList(ContentBytes bytes) {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        return postService.getList(postSearch).getBody();
+    }
+}
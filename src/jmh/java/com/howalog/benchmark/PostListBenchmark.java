@@ -0,0 +1,65 @@
+package com.howalog.benchmark;
+
+import com.howalog.request.PostSearch;
+import com.howalog.response.PostResponse;
+import com.howalog.service.PostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+
+import static com.howalog.config.CacheConfig.POST_LIST;
+
+/**
+ * 목록 조회를 페이지 크기와 깊이별로 잰다. 목록 캐시는 매번 비워 쿼리와 매핑 비용만 남긴다.
+ */
+@State(Scope.Benchmark)
+public class PostListBenchmark {
+
+    @Param({"100000"})
+    private int rows;
+
+    @Param({"1000"})
+    private int contentLength;
+
+    @Param({"10", "100"})
+    private int size;
+
+    @Param({"1", "100", "900"})
+    private int page;
+
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+    private Cache listCache;
+    private PostSearch postSearch;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("post_list");
+        postService = context.getBean(PostService.class);
+        listCache = context.getBean(CacheManager.class).getCache(POST_LIST);
+        BenchmarkContext.seed(context, rows, contentLength);
+        postSearch = PostSearch.builder()
+                .page(page)
+                .size(size)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<PostResponse> getList() {
+        listCache.clear();
+        return postService.getList(postSearch).getBody();
+    }
+}
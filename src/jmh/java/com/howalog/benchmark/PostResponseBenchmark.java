@@ -0,0 +1,59 @@
+package com.howalog.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.howalog.domain.Post;
+import com.howalog.response.PostResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * DB 없이 Post -> PostResponse 매핑과 목록 한 페이지의 JSON 직렬화 비용만 잰다.
+ */
+@State(Scope.Benchmark)
+public class PostResponseBenchmark {
+
+    @Param({"10", "100"})
+    private int size;
+
+    @Param({"100", "10000"})
+    private int contentLength;
+
+    private ObjectMapper objectMapper;
+    private List<Post> posts;
+    private List<PostResponse> responses;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        String content = "가".repeat(contentLength);
+        posts = IntStream.range(0, size)
+                .mapToObj(i -> Post.builder()
+                        .title("title_" + i)
+                        .content(content)
+                        .build())
+                .collect(toList());
+        responses = map();
+    }
+
+    @Benchmark
+    public List<PostResponse> map() {
+        return posts.stream()
+                .map(PostResponse::new)
+                .collect(toList());
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+}
@@ -0,0 +1,85 @@
+package com.howalog.benchmark;
+
+import com.howalog.request.PostCreate;
+import com.howalog.request.PostEdit;
+import com.howalog.response.PostResponse;
+import com.howalog.service.PostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.howalog.config.CacheConfig.POST;
+
+/**
+ * 단건 조회/작성/수정 경로. cached=false 는 매번 단건 캐시를 비워 DB 조회 비용을 잰다.
+ */
+@State(Scope.Benchmark)
+public class PostServiceBenchmark {
+
+    @Param({"10000"})
+    private int rows;
+
+    @Param({"1000"})
+    private int contentLength;
+
+    @Param({"true", "false"})
+    private boolean cached;
+
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+    private Cache postCache;
+    private List<Long> ids;
+    private String content;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("post_service");
+        postService = context.getBean(PostService.class);
+        postCache = context.getBean(CacheManager.class).getCache(POST);
+        ids = BenchmarkContext.seed(context, rows, contentLength);
+        content = "나".repeat(contentLength);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PostResponse get() {
+        Long id = randomId();
+        if (!cached) {
+            postCache.evict(id);
+        }
+        return postService.get(id);
+    }
+
+    @Benchmark
+    public void write() {
+        postService.write(PostCreate.builder()
+                .title("benchmark")
+                .content(content)
+                .build());
+    }
+
+    @Benchmark
+    public void edit() {
+        postService.edit(randomId(), PostEdit.builder()
+                .title("edited_" + ThreadLocalRandom.current().nextInt())
+                .content(content)
+                .build());
+    }
+
+    private Long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,63 @@
+package com.howalog.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.howalog.response.PostJson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 캐시 적중/미스/축출 통계는 actuator 의 cache.gets, cache.evictions 메트릭으로 노출된다.
+ */
+@EnableCaching
+@Configuration
+public class CacheConfig {
+
+    public static final String POST = "post";
+    public static final String POST_LIST = "postList";
+    public static final String POST_JSON = "postJson";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${howalog.cache.post.maximum-size}") long postMaximumSize,
+                                     @Value("${howalog.cache.post.expire-after-write}") Duration postExpireAfterWrite,
+                                     @Value("${howalog.cache.post-list.maximum-size}") long postListMaximumSize,
+                                     @Value("${howalog.cache.post-list.expire-after-write}") Duration postListExpireAfterWrite,
+                                     @Value("${howalog.cache.post-json.maximum-bytes}") DataSize postJsonMaximumBytes,
+                                     @Value("${howalog.cache.post-json.expire-after-write}") Duration postJsonExpireAfterWrite) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(POST, cache(postMaximumSize, postExpireAfterWrite));
+        cacheManager.registerCustomCache(POST_LIST, cache(postListMaximumSize, postListExpireAfterWrite));
+        cacheManager.registerCustomCache(POST_JSON, byteCache(postJsonMaximumBytes, postJsonExpireAfterWrite));
+
+        // 수정/삭제 트랜잭션이 커밋된 뒤에 무효화해야 커밋 전 값이 다시 캐시되지 않는다.
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    private Cache<Object, Object> cache(long maximumSize, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 직렬화된 JSON 바이트 캐시. 글 크기 차이가 커서 개수 대신 바이트 합으로 제한한다.
+     */
+    private Cache<Object, Object> byteCache(DataSize maximumBytes, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maximumBytes.toBytes())
+                .weigher((key, value) -> ((PostJson.Item) value).getJson().length)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+}
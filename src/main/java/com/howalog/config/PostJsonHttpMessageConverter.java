@@ -0,0 +1,45 @@
+package com.howalog.config;
+
+import com.howalog.response.PostJson;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * {@link PostJson} 의 바이트를 응답 본문에 그대로 쓴다. 쓰기 전용이다.
+ */
+public class PostJsonHttpMessageConverter extends AbstractHttpMessageConverter<PostJson> {
+
+    public PostJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PostJson.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected PostJson readInternal(Class<? extends PostJson> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("PostJson 은 읽을 수 없습니다.", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(PostJson postJson, MediaType contentType) {
+        return postJson.getContentLength();
+    }
+
+    @Override
+    protected void writeInternal(PostJson postJson, HttpOutputMessage outputMessage) throws IOException {
+        postJson.writeTo(outputMessage.getBody());
+    }
+}
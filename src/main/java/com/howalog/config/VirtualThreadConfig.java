@@ -0,0 +1,31 @@
+package com.howalog.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+
+/**
+ * howalog.threads.virtual=true 일 때 Tomcat 요청 처리와 MVC 비동기 응답(스트리밍 내보내기 등)을
+ * 가상 스레드에서 실행한다. JDBC 대기 동안 플랫폼 스레드를 붙잡지 않는다.
+ * 커넥션 풀 크기와 open-in-view 도 이 모드에 맞춰야 하므로 application.yml 의 virtual 프로필로 켠다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "howalog.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
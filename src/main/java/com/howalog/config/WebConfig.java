@@ -0,0 +1,38 @@
+package com.howalog.config;
+
+import com.howalog.datasource.ReadYourWritesInterceptor;
+import com.howalog.metrics.RequestMetricsInterceptor;
+import com.howalog.ratelimit.WriteAdmissionInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final WriteAdmissionInterceptor writeAdmissionInterceptor;
+    private final RequestMetricsInterceptor requestMetricsInterceptor;
+    private final ReadYourWritesInterceptor readYourWritesInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 거절할 요청은 다른 일을 하기 전에 가장 먼저 거른다.
+        registry.addInterceptor(writeAdmissionInterceptor)
+                .addPathPatterns("/posts/**");
+        registry.addInterceptor(requestMetricsInterceptor)
+                .addPathPatterns("/posts/**");
+        registry.addInterceptor(readYourWritesInterceptor)
+                .addPathPatterns("/posts/**", "/reactive/posts/**");
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // 미리 직렬화한 글 JSON 은 Jackson 을 거치지 않고 바이트를 그대로 쓴다.
+        converters.add(0, new PostJsonHttpMessageConverter());
+    }
+}
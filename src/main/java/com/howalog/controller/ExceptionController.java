@@ -2,6 +2,8 @@ package com.howalog.controller;
 
 import com.howalog.exception.HowalogException;
 import com.howalog.response.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -17,12 +19,17 @@ import static org.springframework.http.HttpStatus.BAD_REQUEST;
 
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class ExceptionController {
 
+    private final MeterRegistry meterRegistry;
+
     @ResponseStatus(BAD_REQUEST)
     @ResponseBody
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ErrorResponse invalidRequestHandler(MethodArgumentNotValidException e) {
+        countError(e, 400);
+
         ErrorResponse response = ErrorResponse.builder()
                 .code("400")
                 .message("잘못된 요청입니다.")
@@ -39,6 +46,7 @@ public class ExceptionController {
     @ExceptionHandler(HowalogException.class)
     public ResponseEntity<ErrorResponse> howalogException(HowalogException e) {
         int statusCode = e.getStatusCode();
+        countError(e, statusCode);
 
         ErrorResponse response = ErrorResponse.builder()
                 .code(String.valueOf(statusCode))
@@ -48,4 +56,11 @@ public class ExceptionController {
 
         return ResponseEntity.status(statusCode).body(response);
     }
-}
+
+    private void countError(Exception e, int statusCode) {
+        meterRegistry.counter("howalog.errors",
+                        "code", String.valueOf(statusCode),
+                        "exception", e.getClass().getSimpleName())
+                .increment();
+    }
+}
\ No newline at end of file
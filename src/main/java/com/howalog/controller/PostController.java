@@ -1,38 +1,170 @@
 package com.howalog.controller;
 
+import com.howalog.domain.PostTag;
+import com.howalog.request.PostBulkDelete;
 import com.howalog.request.PostCreate;
 import com.howalog.request.PostEdit;
 import com.howalog.request.PostSearch;
+import com.howalog.response.PostBatchResponse;
+import com.howalog.response.PostBulkDeleteResponse;
+import com.howalog.response.PostGetItemResponse;
+import com.howalog.response.PostJson;
+import com.howalog.response.PostPage;
 import com.howalog.response.PostResponse;
+import com.howalog.response.PostSearchResponse;
+import com.howalog.response.PostSliceResponse;
+import com.howalog.response.PostSummaryResponse;
+import com.howalog.response.PostWriteStatusResponse;
+import com.howalog.service.PostChangeStream;
+import com.howalog.service.PostCounter;
+import com.howalog.service.PostExportService;
+import com.howalog.service.PostJsonCache;
+import com.howalog.service.PostSearchService;
 import com.howalog.service.PostService;
+import com.howalog.service.PostWriteQueue;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.util.List;
 
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
+
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 public class PostController {
 
+    private static final String TOTAL_COUNT = "X-Total-Count";
+    private static final String TOTAL_PAGES = "X-Total-Pages";
+
     private final PostService postService;
+    private final PostExportService postExportService;
+    private final PostSearchService postSearchService;
+    private final PostWriteQueue postWriteQueue;
+    private final PostCounter postCounter;
+    private final PostChangeStream postChangeStream;
+    private final PostJsonCache postJsonCache;
 
     @PostMapping("/posts")
     public void post(@RequestBody @Valid PostCreate request) {
-        request.isValid();
         postService.write(request);
     }
 
+    @PostMapping("/posts/async")
+    public ResponseEntity<PostWriteStatusResponse> postAsync(@RequestBody @Valid PostCreate request) {
+        PostWriteStatusResponse response = postWriteQueue.submit(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/posts/async/" + response.getTrackingId()))
+                .body(response);
+    }
+
+    @GetMapping("/posts/async/{trackingId}")
+    public PostWriteStatusResponse getAsyncStatus(@PathVariable String trackingId) {
+        return postWriteQueue.getStatus(trackingId);
+    }
+
+    @PostMapping("/posts/batch")
+    public PostBatchResponse postBatch(@RequestBody List<PostCreate> requests) {
+        return postService.writeAll(requests);
+    }
+
+    /**
+     * If-None-Match / If-Modified-Since 가 현재 버전과 같으면 응답을 만들지 않고 304 를 돌려준다.
+     * 응답 JSON 캐시가 켜져 있으면 버전 비교와 응답 모두 캐시한 값으로 하고 직렬화해 둔 바이트를 그대로 쓴다.
+     */
     @GetMapping("/posts/{postId}")
-    public PostResponse get(@PathVariable Long postId) {
-        return postService.get(postId);
+    public ResponseEntity<?> get(@PathVariable Long postId, WebRequest request) {
+        if (postJsonCache.isEnabled()) {
+            PostJson.Item item = postJsonCache.get(postId);
+            if (request.checkNotModified(item.getTag().getETag(), item.getTag().getLastModified())) {
+                return null;
+            }
+            return ResponseEntity.ok(PostJson.single(item.getJson()));
+        }
+
+        PostTag tag = postService.getTag(postId);
+        if (request.checkNotModified(tag.getETag(), tag.getLastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok(postService.get(postId));
     }
 
+    /**
+     * fields/excerpt 로 일부만 요청한 목록은 글마다 모양이 달라 캐시한 바이트를 쓸 수 없으므로 객체로 만든다.
+     * ETag 는 응답할 페이지를 읽은 시점의 쓰기 버전이다.
+     */
     @GetMapping("/posts")
-    public List<PostResponse> getList(PostSearch postSearch) {
-        return postService.getList(postSearch);
+    public ResponseEntity<?> getList(PostSearch postSearch, WebRequest request) {
+        if (postJsonCache.isEnabled() && postSearch.isFullResponse()) {
+            PostPage<List<Long>> ids = postService.getListIds(postSearch);
+            if (checkNotModified(request, ids)) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .headers(totalHeaders(postSearch))
+                    .body(postJsonCache.getList(ids.getBody()));
+        }
+
+        PostPage<List<PostResponse>> posts = postService.getList(postSearch);
+        if (checkNotModified(request, posts)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .headers(totalHeaders(postSearch))
+                .body(posts.getBody());
+    }
+
+    @GetMapping(value = "/posts", params = "ids")
+    public List<PostGetItemResponse> getAll(@RequestParam List<Long> ids) {
+        return postService.getAll(ids);
+    }
+
+    @GetMapping(value = "/posts", params = "cursor")
+    public PostSliceResponse getSlice(PostSearch postSearch, WebRequest request) {
+        PostPage<PostSliceResponse> slice = postService.getSlice(postSearch);
+        if (checkNotModified(request, slice)) {
+            return null;
+        }
+        return slice.getBody();
+    }
+
+    @GetMapping("/posts/summaries")
+    public ResponseEntity<List<PostSummaryResponse>> getSummaryList(PostSearch postSearch, WebRequest request) {
+        PostPage<List<PostSummaryResponse>> posts = postService.getSummaryList(postSearch);
+        if (checkNotModified(request, posts)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .headers(totalHeaders(postSearch))
+                .body(posts.getBody());
+    }
+
+    @GetMapping("/posts/search")
+    public PostSearchResponse search(@RequestParam(defaultValue = "") String q, PostSearch postSearch) {
+        return postSearchService.search(q, postSearch);
+    }
+
+    @GetMapping(value = "/posts/export", produces = APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody export() {
+        return postExportService::export;
+    }
+
+    /**
+     * 글 변경 스트림. 재연결 시 브라우저가 보내는 Last-Event-ID, 없으면 offset 이후부터 이어서 받는다.
+     */
+    @GetMapping(value = "/posts/events", produces = TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                             @RequestParam(required = false) Long offset) {
+        return postChangeStream.subscribe(lastEventId != null ? lastEventId : offset);
     }
 
     @PatchMapping("/posts/{postId}")
@@ -44,4 +176,27 @@ public class PostController {
     public void delete(@PathVariable Long postId) {
         postService.delete(postId);
     }
-}
\ No newline at end of file
+
+    @DeleteMapping("/posts")
+    public PostBulkDeleteResponse deleteAll(PostBulkDelete postBulkDelete) {
+        return postService.deleteAll(postBulkDelete);
+    }
+
+    /**
+     * "page X of Y" 용 전체 글 수/페이지 수. 유지되는 카운터 값이므로 요청 경로에서 count(*) 를 하지 않는다.
+     */
+    private HttpHeaders totalHeaders(PostSearch postSearch) {
+        long totalCount = postCounter.get();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(TOTAL_COUNT, String.valueOf(totalCount));
+        headers.set(TOTAL_PAGES, String.valueOf(postSearch.getTotalPages(totalCount)));
+        return headers;
+    }
+
+    /**
+     * 읽는 동안 커밋이 끼어든 페이지는 버전을 모르므로 ETag 없이 그대로 응답한다.
+     */
+    private boolean checkNotModified(WebRequest request, PostPage<?> page) {
+        return page.getETag() != null && request.checkNotModified(page.getETag());
+    }
+}
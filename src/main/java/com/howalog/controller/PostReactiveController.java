@@ -0,0 +1,57 @@
+package com.howalog.controller;
+
+import com.howalog.exception.InvalidRequest;
+import com.howalog.exception.PostNotFound;
+import com.howalog.repository.PostReactiveRepository;
+import com.howalog.request.PostSearch;
+import com.howalog.response.PostResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.howalog.config.CacheConfig.POST;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+
+/**
+ * /posts 조회의 R2DBC 버전. 쿼리는 PostReactiveRepository 의 전용 스케줄러에서 실행되므로
+ * 요청 스레드는 핸들러가 Mono/Flux 를 돌려주면 풀로 돌아가고, 응답은 DB 결과가 오는 대로 비동기로 쓴다.
+ * 같은 부하에서 MVC/JPA 경로와 비교하기 위한 것이다(loadtest/posts.js).
+ */
+@RestController
+@RequiredArgsConstructor
+public class PostReactiveController {
+
+    private final PostReactiveRepository postReactiveRepository;
+    private final CacheManager cacheManager;
+
+    /**
+     * 단건 캐시는 읽기만 한다. 이 경로는 복제본에서 읽으므로 캐시는 원본에서 읽는 PostService 만 채운다.
+     */
+    @GetMapping("/reactive/posts/{postId}")
+    public Mono<PostResponse> get(@PathVariable Long postId) {
+        Cache cache = cacheManager.getCache(POST);
+        PostResponse cached = cache.get(postId, PostResponse.class);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        return postReactiveRepository.findById(postId)
+                .switchIfEmpty(Mono.error(PostNotFound::new));
+    }
+
+    /**
+     * 한 줄에 글 하나씩 NDJSON 으로 흘려보낸다.
+     */
+    @GetMapping(value = "/reactive/posts", produces = APPLICATION_NDJSON_VALUE)
+    public Flux<PostResponse> getList(PostSearch postSearch) {
+        if (postSearch.hasUnknownField()) {
+            throw new InvalidRequest("fields", "지원하지 않는 필드입니다. " + PostSearch.FIELDS);
+        }
+        return postReactiveRepository.getList(postSearch);
+    }
+}
@@ -0,0 +1,62 @@
+package com.howalog.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 쓰기 직후 일정 시간(howalog.datasource.read-your-writes) 동안 그 클라이언트의 읽기를 원본으로 고정한다.
+ * 복제본이 따라잡기 전에 자기가 쓴 글이 안 보이는 일을 막는다. 다른 클라이언트는 계속 복제본에서 읽는다.
+ */
+@Component
+public class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWrites(@Value("${howalog.datasource.read-your-writes}") Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void wrote(String clientKey) {
+        recentWriters.put(clientKey, Boolean.TRUE);
+    }
+
+    public void begin(String clientKey) {
+        if (recentWriters.getIfPresent(clientKey) != null) {
+            PINNED.set(Boolean.TRUE);
+        }
+    }
+
+    public static void end() {
+        PINNED.remove();
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    /**
+     * 캐시를 채우는 읽기처럼 복제 지연이 남으면 안 되는 조회를 원본에서 실행한다.
+     * 커넥션은 첫 쿼리 때 얻으므로, 트랜잭션 안에서도 쿼리 전에 호출하면 원본으로 간다.
+     */
+    public static <T> T onPrimary(Supplier<T> query) {
+        if (isPinned()) {
+            return query.get();
+        }
+        PINNED.set(Boolean.TRUE);
+        try {
+            return query.get();
+        } finally {
+            PINNED.remove();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.howalog.datasource;
+
+import com.howalog.request.ClientKey;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * 요청 시작 시 클라이언트의 최근 쓰기 여부로 원본 고정을 정하고, 성공한 쓰기 요청을 기록한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    private final ReadYourWrites readYourWrites;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        readYourWrites.begin(ClientKey.resolve(request));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        ReadYourWrites.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ReadYourWrites.end();
+        if (ex == null && response.getStatus() < 400 && isWrite(request)) {
+            readYourWrites.wrote(ClientKey.resolve(request));
+        }
+    }
+
+    private boolean isWrite(HttpServletRequest request) {
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        return method == HttpMethod.POST || method == HttpMethod.PATCH
+                || method == HttpMethod.PUT || method == HttpMethod.DELETE;
+    }
+}
@@ -0,0 +1,41 @@
+package com.howalog.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 읽기 전용 트랜잭션은 복제본으로, 나머지는 원본으로 보낸다.
+ * 방금 쓰기를 한 클라이언트의 요청({@link ReadYourWrites})은 복제 지연을 피하도록 원본에서 읽는다.
+ * 트랜잭션 속성이 정해진 뒤에 커넥션을 얻어야 하므로 LazyConnectionDataSourceProxy 로 감싸서 쓴다.
+ */
+public class RoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+
+    public RoutingDataSource(DataSource primary, DataSource replica, MeterRegistry meterRegistry) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.primaryRoutes = meterRegistry.counter("howalog.datasource.route", "target", "primary");
+        this.replicaRoutes = meterRegistry.counter("howalog.datasource.route", "target", "replica");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ReadYourWrites.isPinned()) {
+            replicaRoutes.increment();
+            return Route.REPLICA;
+        }
+        primaryRoutes.increment();
+        return Route.PRIMARY;
+    }
+}
@@ -6,33 +6,59 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Post {
 
+    /**
+     * 목록/요약 응답에 쓰는 본문 앞부분 길이. 압축된 본문은 SQL 로 자를 수 없어 따로 저장한다.
+     */
+    public static final int EXCERPT_LENGTH = 1_000;
+
+    /**
+     * IDENTITY 는 insert 마다 키를 받아와야 해서 JDBC 배치가 불가능하다.
+     * 시퀀스를 allocationSize 단위로 미리 할당받아 대량 작성 시 insert 를 묶어 보낸다.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_seq")
+    @SequenceGenerator(name = "post_seq", sequenceName = "post_seq", allocationSize = 50)
     private Long id;
 
     private String title;
+
+    /**
+     * 압축해서 저장한다. 압축 전 평문 CLOB 은 content 컬럼에 남아 있고 PostContentMigrator 가 옮긴다.
+     * 목록/삭제/존재 확인에서 본문까지 읽지 않도록 지연 로딩한다(바이트코드 향상 필요).
+     */
     @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Convert(converter = PostContentConverter.class)
+    @Column(name = "content_data")
     private String content;
 
+    @Column(length = EXCERPT_LENGTH)
+    private String excerpt;
+
+    @Version
+    private Long version;
+
+    private LocalDateTime modifiedAt;
+
     @Builder
     public Post(String title, String content) {
         this.title = title;
         this.content = content;
+        this.excerpt = excerptOf(content);
+        this.modifiedAt = LocalDateTime.now();
     }
 
-    public PostEditor.PostEditorBuilder toEditor() {
-        return PostEditor.builder()
-                .title(title)
-                .content(content);
-    }
-
-    public void edit(PostEditor postEditor) {
-        title = postEditor.getTitle();
-        content = postEditor.getContent();
+    public static String excerptOf(String content) {
+        if (content == null || content.length() <= EXCERPT_LENGTH) {
+            return content;
+        }
+        return content.substring(0, EXCERPT_LENGTH);
     }
 }
@@ -0,0 +1,121 @@
+package com.howalog.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 본문을 압축해서 저장한다.
+ * <pre>
+ * | magic 'H' 'C' (2) | codec (1) | 원문 UTF-8 길이 (4) | 데이터 |
+ * </pre>
+ * 짧은 본문은 압축 이득보다 비용이 커서 RAW 로 둔다.
+ * 헤더가 없는 값은 압축 도입 이전에 평문 UTF-8 로 저장된 값으로 보고 그대로 읽는다.
+ */
+@Converter
+public class PostContentConverter implements AttributeConverter<String, byte[]> {
+
+    public static final byte CODEC_RAW = 0;
+    public static final byte CODEC_DEFLATE = 1;
+
+    private static final byte MAGIC_0 = 'H';
+    private static final byte MAGIC_1 = 'C';
+    private static final int HEADER_SIZE = 7;
+    private static final int MIN_COMPRESS_SIZE = 512;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String content) {
+        if (content == null) {
+            return null;
+        }
+
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+        if (raw.length >= MIN_COMPRESS_SIZE) {
+            byte[] deflated = deflate(raw);
+            if (deflated.length < raw.length) {
+                return withHeader(CODEC_DEFLATE, raw.length, deflated);
+            }
+        }
+        return withHeader(CODEC_RAW, raw.length, raw);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (!hasHeader(data)) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+
+        int length = ByteBuffer.wrap(data, 3, 4).getInt();
+        return switch (data[2]) {
+            case CODEC_RAW -> new String(data, HEADER_SIZE, length, StandardCharsets.UTF_8);
+            case CODEC_DEFLATE -> new String(inflate(data, length), StandardCharsets.UTF_8);
+            default -> throw new IllegalStateException("unknown content codec: " + data[2]);
+        };
+    }
+
+    public static boolean hasHeader(byte[] data) {
+        return data.length >= HEADER_SIZE
+                && data[0] == MAGIC_0
+                && data[1] == MAGIC_1
+                && (data[2] == CODEC_RAW || data[2] == CODEC_DEFLATE);
+    }
+
+    private static byte[] withHeader(byte codec, int length, byte[] body) {
+        return ByteBuffer.allocate(HEADER_SIZE + body.length)
+                .put(MAGIC_0)
+                .put(MAGIC_1)
+                .put(codec)
+                .putInt(length)
+                .put(body)
+                .array();
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int length) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, HEADER_SIZE, data.length - HEADER_SIZE);
+            byte[] raw = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int n = inflater.inflate(raw, read, length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != length) {
+                throw new IllegalStateException("corrupted content: expected " + length + " bytes, got " + read);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("corrupted content", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.howalog.domain;
+
+import com.howalog.event.PostEvent;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 글 변경 기록(트랜잭션 아웃박스). 글을 바꾼 트랜잭션 안에서 함께 저장되므로 커밋된 변경만 남는다.
+ * id 가 구독자에게 주는 오프셋이다. 쓰기는 PostOutboxRepository.insertAll 의 insert 문으로만 한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(name = "idx_post_outbox_created_at", columnList = "createdAt"))
+public class PostOutbox {
+
+    /**
+     * 오프셋은 커밋 직전 insert 문 안에서 시퀀스로 받는다(next value for post_outbox_seq).
+     * 여기 선언은 스키마에 시퀀스를 만들기 위한 것이다.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_outbox_seq")
+    @SequenceGenerator(name = "post_outbox_seq", sequenceName = "post_outbox_seq", allocationSize = 1)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private PostEvent.Type type;
+
+    private Long postId;
+
+    private LocalDateTime createdAt;
+}
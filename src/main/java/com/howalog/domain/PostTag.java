@@ -0,0 +1,37 @@
+package com.howalog.domain;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 조건부 GET 에 쓰는 글의 버전 정보. 본문 없이 id, version, modifiedAt 만 담는다.
+ */
+@Getter
+public class PostTag {
+
+    private final Long id;
+    private final Long version;
+    private final LocalDateTime modifiedAt;
+
+    public PostTag(Long id, Long version, LocalDateTime modifiedAt) {
+        this.id = id;
+        this.version = version;
+        this.modifiedAt = modifiedAt;
+    }
+
+    public String getETag() {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * @return epoch millis, 수정 시각이 없으면 -1
+     */
+    public long getLastModified() {
+        if (modifiedAt == null) {
+            return -1;
+        }
+        return modifiedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
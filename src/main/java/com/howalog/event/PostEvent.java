@@ -0,0 +1,43 @@
+package com.howalog.event;
+
+import com.howalog.domain.Post;
+import lombok.Getter;
+
+/**
+ * 글이 작성/수정/삭제될 때 발행된다.
+ * 검색 색인처럼 DB 밖에서 글을 따라가야 하는 곳은 커밋 이후에 이 이벤트를 받아 갱신한다.
+ */
+@Getter
+public class PostEvent {
+
+    public enum Type {
+        CREATED, EDITED, DELETED
+    }
+
+    private final Type type;
+    private final Long postId;
+    private final String title;
+    private final String content;
+
+    private PostEvent(Type type, Long postId, String title, String content) {
+        this.type = type;
+        this.postId = postId;
+        this.title = title;
+        this.content = content;
+    }
+
+    public static PostEvent created(Post post) {
+        return new PostEvent(Type.CREATED, post.getId(), post.getTitle(), post.getContent());
+    }
+
+    /**
+     * 수정 이벤트의 title, content 는 바뀐 필드만 채워지고 바뀌지 않은 필드는 null 이다.
+     */
+    public static PostEvent edited(Long postId, String title, String content) {
+        return new PostEvent(Type.EDITED, postId, title, content);
+    }
+
+    public static PostEvent deleted(Long postId) {
+        return new PostEvent(Type.DELETED, postId, null, null);
+    }
+}
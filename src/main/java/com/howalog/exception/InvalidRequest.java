@@ -0,0 +1,23 @@
+package com.howalog.exception;
+
+/**
+ * status : 400
+ */
+public class InvalidRequest extends HowalogException {
+
+    private static final String MESSAGE = "잘못된 요청입니다.";
+
+    public InvalidRequest() {
+        super(MESSAGE);
+    }
+
+    public InvalidRequest(String fieldName, String errorMessage) {
+        super(MESSAGE);
+        addValidation(fieldName, errorMessage);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 400;
+    }
+}
@@ -0,0 +1,18 @@
+package com.howalog.exception;
+
+/**
+ * status : 409
+ */
+public class PostConflict extends HowalogException {
+
+    private static final String MESSAGE = "다른 사용자가 먼저 수정한 게시글입니다.";
+
+    public PostConflict() {
+        super(MESSAGE);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 409;
+    }
+}
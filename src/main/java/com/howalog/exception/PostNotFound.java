@@ -5,7 +5,8 @@ package com.howalog.exception;
  */
 public class PostNotFound extends HowalogException {
 
-    private static final String MESSAGE = "존재하지 않는 게시글 입니다.";
+    public static final int STATUS_CODE = 404;
+    public static final String MESSAGE = "존재하지 않는 게시글 입니다.";
 
     public PostNotFound() {
         super(MESSAGE);
@@ -17,6 +18,6 @@ public class PostNotFound extends HowalogException {
 
     @Override
     public int getStatusCode() {
-        return 404;
+        return STATUS_CODE;
     }
 }
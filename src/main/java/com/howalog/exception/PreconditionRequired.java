@@ -0,0 +1,19 @@
+package com.howalog.exception;
+
+/**
+ * status : 428
+ */
+public class PreconditionRequired extends HowalogException {
+
+    private static final String MESSAGE = "수정할 글의 버전을 함께 보내 주세요.";
+
+    public PreconditionRequired() {
+        super(MESSAGE);
+        addValidation("version", "마지막으로 읽은 글의 버전을 입력해 주세요.");
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 428;
+    }
+}
@@ -0,0 +1,18 @@
+package com.howalog.exception;
+
+/**
+ * status : 503
+ */
+public class ServiceUnavailable extends HowalogException {
+
+    private static final String MESSAGE = "일시적으로 요청을 처리할 수 없습니다.";
+
+    public ServiceUnavailable() {
+        super(MESSAGE);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 503;
+    }
+}
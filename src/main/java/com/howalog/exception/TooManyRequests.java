@@ -0,0 +1,18 @@
+package com.howalog.exception;
+
+/**
+ * status : 429
+ */
+public class TooManyRequests extends HowalogException {
+
+    private static final String MESSAGE = "요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.";
+
+    public TooManyRequests() {
+        super(MESSAGE);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 429;
+    }
+}
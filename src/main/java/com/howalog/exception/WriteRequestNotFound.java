@@ -0,0 +1,18 @@
+package com.howalog.exception;
+
+/**
+ * status : 404
+ */
+public class WriteRequestNotFound extends HowalogException {
+
+    private static final String MESSAGE = "존재하지 않는 작성 요청입니다.";
+
+    public WriteRequestNotFound() {
+        super(MESSAGE);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 404;
+    }
+}
@@ -0,0 +1,24 @@
+package com.howalog.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * hibernate.session.events.auto 로 모든 세션에 등록된다.
+ */
+public class HibernateStatisticsListener implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestStatistics.statementExecuted();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestStatistics.statementExecuted();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        RequestStatistics.flushed();
+    }
+}
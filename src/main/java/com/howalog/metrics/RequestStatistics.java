@@ -0,0 +1,43 @@
+package com.howalog.metrics;
+
+import lombok.Getter;
+
+/**
+ * 요청 하나 동안 Hibernate 가 실행한 SQL 문과 flush 횟수.
+ * 요청 스레드에 묶어 두고 {@link RequestMetricsInterceptor} 가 시작/종료를 관리한다.
+ */
+@Getter
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int flushes;
+
+    private RequestStatistics() {
+    }
+
+    public static void begin() {
+        CURRENT.set(new RequestStatistics());
+    }
+
+    public static RequestStatistics end() {
+        RequestStatistics statistics = CURRENT.get();
+        CURRENT.remove();
+        return statistics;
+    }
+
+    static void statementExecuted() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+        }
+    }
+
+    static void flushed() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.flushes++;
+        }
+    }
+}
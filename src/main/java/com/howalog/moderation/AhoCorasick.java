@@ -0,0 +1,171 @@
+package com.howalog.moderation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 금칙어 전체를 미리 Aho–Corasick 오토마톤으로 컴파일해 두고, 검사는 본문을 한 번 훑는 것으로 끝낸다.
+ * 상태 전이는 상태별로 문자 순으로 정렬된 배열에 두고 이진 탐색한다.
+ * 검사 중에는 객체를 만들지 않는다. 대소문자는 구분하지 않는다.
+ * <pre>
+ * state s 의 전이 : edgeChars/edgeTargets[edgeOffsets[s] .. edgeOffsets[s + 1])
+ * fails[s]         : s 에서 더 갈 수 없을 때 옮겨 갈 상태 (가장 긴 접미사)
+ * matches[s]       : s 에 도착하면 끝나는 금칙어 번호, 없으면 -1 (fail 경로의 것도 포함)
+ * </pre>
+ */
+public final class AhoCorasick implements WordMatcher {
+
+    private static final int ROOT = 0;
+
+    private final String[] words;
+    private final int[] edgeOffsets;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] fails;
+    private final int[] matches;
+
+    private AhoCorasick(String[] words, int[] edgeOffsets, char[] edgeChars, int[] edgeTargets, int[] fails, int[] matches) {
+        this.words = words;
+        this.edgeOffsets = edgeOffsets;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fails = fails;
+        this.matches = matches;
+    }
+
+    /**
+     * 빈 단어와 중복은 무시한다.
+     */
+    public static AhoCorasick compile(Collection<String> words) {
+        List<String> compiled = new ArrayList<>();
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        ends.add(-1);
+
+        for (String word : words) {
+            if (word == null || word.isEmpty()) {
+                continue;
+            }
+            int state = ROOT;
+            for (int i = 0; i < word.length(); i++) {
+                char c = fold(word.charAt(i));
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(state).put(c, next);
+                    trie.add(new TreeMap<>());
+                    ends.add(-1);
+                }
+                state = next;
+            }
+            if (ends.get(state) < 0) {
+                ends.set(state, compiled.size());
+                compiled.add(word);
+            }
+        }
+
+        int states = trie.size();
+        int[] edgeOffsets = new int[states + 1];
+        for (int s = 0; s < states; s++) {
+            edgeOffsets[s + 1] = edgeOffsets[s] + trie.get(s).size();
+        }
+        char[] edgeChars = new char[edgeOffsets[states]];
+        int[] edgeTargets = new int[edgeOffsets[states]];
+        for (int s = 0; s < states; s++) {
+            int edge = edgeOffsets[s];
+            for (Map.Entry<Character, Integer> entry : trie.get(s).entrySet()) {
+                edgeChars[edge] = entry.getKey();
+                edgeTargets[edge] = entry.getValue();
+                edge++;
+            }
+        }
+
+        int[] fails = new int[states];
+        int[] matches = new int[states];
+        matches[ROOT] = -1;
+
+        // 얕은 상태부터 채워야 fail 상태의 값이 먼저 정해진다.
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int edge = edgeOffsets[ROOT]; edge < edgeOffsets[ROOT + 1]; edge++) {
+            int child = edgeTargets[edge];
+            fails[child] = ROOT;
+            matches[child] = ends.get(child);
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int edge = edgeOffsets[state]; edge < edgeOffsets[state + 1]; edge++) {
+                char c = edgeChars[edge];
+                int child = edgeTargets[edge];
+
+                int fail = fails[state];
+                int next;
+                while ((next = next(edgeOffsets, edgeChars, edgeTargets, fail, c)) < 0 && fail != ROOT) {
+                    fail = fails[fail];
+                }
+                fails[child] = Math.max(next, ROOT);
+                matches[child] = ends.get(child) >= 0 ? ends.get(child) : matches[fails[child]];
+                queue.add(child);
+            }
+        }
+
+        return new AhoCorasick(compiled.toArray(new String[0]), edgeOffsets, edgeChars, edgeTargets, fails, matches);
+    }
+
+    @Override
+    public int find(CharSequence text) {
+        if (text == null || words.length == 0) {
+            return -1;
+        }
+
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = fold(text.charAt(i));
+            int next;
+            while ((next = next(edgeOffsets, edgeChars, edgeTargets, state, c)) < 0 && state != ROOT) {
+                state = fails[state];
+            }
+            state = Math.max(next, ROOT);
+            if (matches[state] >= 0) {
+                return matches[state];
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String word(int index) {
+        return words[index];
+    }
+
+    @Override
+    public int size() {
+        return words.length;
+    }
+
+    private static int next(int[] edgeOffsets, char[] edgeChars, int[] edgeTargets, int state, char c) {
+        int low = edgeOffsets[state];
+        int high = edgeOffsets[state + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char edge = edgeChars[mid];
+            if (edge < c) {
+                low = mid + 1;
+            } else if (edge > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+
+    private static char fold(char c) {
+        return Character.toLowerCase(c);
+    }
+}
@@ -0,0 +1,122 @@
+package com.howalog.moderation;
+
+import com.howalog.exception.InvalidException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 글 제목/본문의 금칙어 검사. 금칙어 목록(howalog.moderation.words)은 한 줄에 하나, # 로 시작하면 주석이다.
+ * 파일이 바뀌면 reload-interval 마다 다시 컴파일해 통째로 바꿔 끼우므로 재시작하지 않아도 된다.
+ * 다시 읽다가 실패하면 이전 목록을 그대로 쓴다.
+ */
+@Slf4j
+@Component
+public class PostModerator {
+
+    private static final String TITLE = "title";
+    private static final String CONTENT = "content";
+
+    private final Resource words;
+    private final Counter titleRejected;
+    private final Counter contentRejected;
+
+    private volatile WordMatcher matcher;
+    private volatile long lastModified;
+
+    public PostModerator(@Value("${howalog.moderation.words}") Resource words, MeterRegistry meterRegistry) {
+        this.words = words;
+        this.titleRejected = rejected(meterRegistry, TITLE);
+        this.contentRejected = rejected(meterRegistry, CONTENT);
+        Gauge.builder("howalog.moderation.words", this, moderator -> moderator.matcher.size())
+                .register(meterRegistry);
+
+        this.lastModified = lastModified();
+        this.matcher = AhoCorasick.compile(read());
+    }
+
+    /**
+     * null 인 값은 검사하지 않는다.
+     */
+    public void check(String title, String content) {
+        WordMatcher current = matcher;
+        if (current.find(title) >= 0) {
+            titleRejected.increment();
+            throw new InvalidException(TITLE, "제목에 욕설을 포함할 수 없습니다.");
+        }
+        if (current.find(content) >= 0) {
+            contentRejected.increment();
+            throw new InvalidException(CONTENT, "내용에 욕설을 포함할 수 없습니다.");
+        }
+    }
+
+    /**
+     * 다시 읽는 데 성공했을 때만 수정 시각을 기록한다. 실패하면 다음 주기에 다시 시도한다.
+     */
+    @Scheduled(fixedDelayString = "${howalog.moderation.reload-interval}")
+    public void reloadIfModified() {
+        long modified = lastModified();
+        if (modified != lastModified && reload()) {
+            lastModified = modified;
+        }
+    }
+
+    /**
+     * @return 새 목록으로 바꿨으면 true, 실패해 이전 목록을 그대로 쓰면 false
+     */
+    public synchronized boolean reload() {
+        try {
+            matcher = AhoCorasick.compile(read());
+            log.info("loaded {} banned words from {}", matcher.size(), words);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("failed to reload banned words from {}, keeping {} words", words, matcher.size(), e);
+            return false;
+        }
+    }
+
+    private List<String> read() {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(words.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    lines.add(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("failed to read banned words from " + words, e);
+        }
+        return lines;
+    }
+
+    /**
+     * jar 안의 리소스처럼 수정 시각을 알 수 없으면 바뀌지 않은 것으로 본다.
+     */
+    private long lastModified() {
+        try {
+            return words.lastModified();
+        } catch (IOException e) {
+            return lastModified;
+        }
+    }
+
+    private static Counter rejected(MeterRegistry meterRegistry, String field) {
+        return Counter.builder("howalog.moderation.rejected")
+                .tag("field", field)
+                .register(meterRegistry);
+    }
+}
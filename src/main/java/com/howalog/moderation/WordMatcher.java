@@ -0,0 +1,16 @@
+package com.howalog.moderation;
+
+/**
+ * 금칙어 검사 엔진. 구현은 불변이어야 하고 여러 스레드가 동시에 써도 안전해야 한다.
+ */
+public interface WordMatcher {
+
+    /**
+     * text 에 포함된 금칙어 하나의 번호를 돌려준다. 없으면 -1.
+     */
+    int find(CharSequence text);
+
+    String word(int index);
+
+    int size();
+}
@@ -0,0 +1,41 @@
+package com.howalog.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 락 없는 토큰 버킷. 남은 토큰 수 대신 "다음 토큰이 생기는 이론상 시각" 하나만 CAS 로 갱신한다(GCRA).
+ * 초당 permitsPerSecond 개씩 채워지고 비어 있던 버킷은 burst 개까지 한 번에 허용한다.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(double permitsPerSecond, int burst, long nowNanos) {
+        this.intervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.toleranceNanos = intervalNanos * (Math.max(burst, 1) - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, nowNanos);
+            if (next - nowNanos > toleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next + intervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 다음 토큰까지 남은 시간(초, 올림). Retry-After 헤더에 쓴다.
+     */
+    long secondsUntilNext(long nowNanos) {
+        long wait = theoreticalArrival.get() - toleranceNanos - nowNanos;
+        return Math.max(1, (wait + 999_999_999L) / 1_000_000_000L);
+    }
+}
@@ -0,0 +1,87 @@
+package com.howalog.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 쓰기 요청 입장 제어.
+ * 클라이언트별 토큰 버킷을 넘으면 429, 동시에 처리 중인 쓰기가 상한이면 기다리지 않고 503 으로 돌려보낸다.
+ * 판정 결과는 howalog.admission(decision=allowed|rate_limited|shed) 로 집계한다.
+ */
+@Component
+public class WriteAdmission {
+
+    public enum Decision {
+        ALLOWED, RATE_LIMITED, SHED
+    }
+
+    private final double permitsPerSecond;
+    private final int burst;
+    private final int maxConcurrentWrites;
+    private final Cache<String, TokenBucket> buckets;
+    private final Semaphore inFlight;
+
+    private final Counter allowed;
+    private final Counter rateLimited;
+    private final Counter shed;
+
+    public WriteAdmission(@Value("${howalog.rate-limit.permits-per-second}") double permitsPerSecond,
+                          @Value("${howalog.rate-limit.burst}") int burst,
+                          @Value("${howalog.rate-limit.max-concurrent-writes}") int maxConcurrentWrites,
+                          MeterRegistry meterRegistry) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.maxConcurrentWrites = maxConcurrentWrites;
+        // 버킷이 가득 차는 시간보다 오래 쓰지 않은 클라이언트는 버려도 결과가 같다.
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        this.inFlight = new Semaphore(maxConcurrentWrites);
+
+        this.allowed = meterRegistry.counter("howalog.admission", "decision", "allowed");
+        this.rateLimited = meterRegistry.counter("howalog.admission", "decision", "rate_limited");
+        this.shed = meterRegistry.counter("howalog.admission", "decision", "shed");
+        Gauge.builder("howalog.admission.in-flight", this, WriteAdmission::getInFlight)
+                .register(meterRegistry);
+    }
+
+    public Decision enter(String clientKey) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(clientKey, key -> new TokenBucket(permitsPerSecond, burst, now));
+        if (!bucket.tryAcquire(now)) {
+            rateLimited.increment();
+            return Decision.RATE_LIMITED;
+        }
+        if (!inFlight.tryAcquire()) {
+            shed.increment();
+            return Decision.SHED;
+        }
+        allowed.increment();
+        return Decision.ALLOWED;
+    }
+
+    /**
+     * {@link #enter} 가 ALLOWED 를 돌려준 요청이 끝나면 반드시 호출한다.
+     */
+    public void exit() {
+        inFlight.release();
+    }
+
+    public long retryAfterSeconds(String clientKey) {
+        TokenBucket bucket = buckets.getIfPresent(clientKey);
+        return bucket == null ? 1 : bucket.secondsUntilNext(System.nanoTime());
+    }
+
+    public int getInFlight() {
+        return maxConcurrentWrites - inFlight.availablePermits();
+    }
+}
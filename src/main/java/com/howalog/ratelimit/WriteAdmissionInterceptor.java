@@ -0,0 +1,61 @@
+package com.howalog.ratelimit;
+
+import com.howalog.exception.ServiceUnavailable;
+import com.howalog.exception.TooManyRequests;
+import com.howalog.request.ClientKey;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * 작성/수정/삭제 요청을 컨트롤러에 들어가기 전에 걸러 커넥션 풀을 잡지 않게 한다.
+ * 거절은 HowalogException 으로 던져 다른 오류와 같은 ErrorResponse 형식으로 내려간다.
+ */
+@Component
+@RequiredArgsConstructor
+public class WriteAdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ADMITTED = WriteAdmissionInterceptor.class.getName() + ".admitted";
+
+    private final WriteAdmission writeAdmission;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!isWrite(request) || request.getAttribute(ADMITTED) != null) {
+            return true;
+        }
+
+        String clientKey = ClientKey.resolve(request);
+        switch (writeAdmission.enter(clientKey)) {
+            case RATE_LIMITED -> {
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(writeAdmission.retryAfterSeconds(clientKey)));
+                throw new TooManyRequests();
+            }
+            case SHED -> {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                throw new ServiceUnavailable();
+            }
+            default -> request.setAttribute(ADMITTED, Boolean.TRUE);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(ADMITTED) != null) {
+            request.removeAttribute(ADMITTED);
+            writeAdmission.exit();
+        }
+    }
+
+    private boolean isWrite(HttpServletRequest request) {
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        return method == HttpMethod.POST || method == HttpMethod.PATCH
+                || method == HttpMethod.PUT || method == HttpMethod.DELETE;
+    }
+}
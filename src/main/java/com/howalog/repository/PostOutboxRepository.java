@@ -0,0 +1,7 @@
+package com.howalog.repository;
+
+import com.howalog.domain.PostOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PostOutboxRepository extends JpaRepository<PostOutbox, Long>, PostOutboxRepositoryCustom {
+}
@@ -0,0 +1,27 @@
+package com.howalog.repository;
+
+import com.howalog.event.PostEvent;
+import com.howalog.response.PostChangeResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PostOutboxRepositoryCustom {
+
+    /**
+     * offset 초과 upTo 이하의 변경을 오프셋 순서로 limit 개까지 조회한다.
+     */
+    List<PostChangeResponse> getChanges(long offset, long upTo, int limit);
+
+    /**
+     * @return 마지막 오프셋, 기록이 없으면 0
+     */
+    long getLastOffset();
+
+    /**
+     * 이벤트 순서대로 오프셋을 받아 묶음마다 insert 한 문장으로 기록한다.
+     */
+    void insertAll(List<PostEvent> events, LocalDateTime createdAt);
+
+    long deleteBefore(LocalDateTime before);
+}
@@ -0,0 +1,78 @@
+package com.howalog.repository;
+
+import com.howalog.event.PostEvent;
+import com.howalog.response.PostChangeResponse;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.howalog.domain.QPostOutbox.postOutbox;
+
+@RequiredArgsConstructor
+public class PostOutboxRepositoryImpl implements PostOutboxRepositoryCustom {
+
+    private static final int INSERT_CHUNK_SIZE = 500;
+
+    private final JPAQueryFactory queryFactory;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<PostChangeResponse> getChanges(long offset, long upTo, int limit) {
+        return queryFactory.select(Projections.constructor(PostChangeResponse.class,
+                        postOutbox.id,
+                        postOutbox.type,
+                        postOutbox.postId,
+                        postOutbox.createdAt))
+                .from(postOutbox)
+                .where(postOutbox.id.gt(offset), postOutbox.id.loe(upTo))
+                .orderBy(postOutbox.id.asc())
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public long getLastOffset() {
+        Long last = queryFactory.select(postOutbox.id.max())
+                .from(postOutbox)
+                .fetchOne();
+        return last == null ? 0 : last;
+    }
+
+    @Override
+    public void insertAll(List<PostEvent> events, LocalDateTime createdAt) {
+        for (int from = 0; from < events.size(); from += INSERT_CHUNK_SIZE) {
+            List<PostEvent> chunk = events.subList(from, Math.min(from + INSERT_CHUNK_SIZE, events.size()));
+
+            StringBuilder sql = new StringBuilder("insert into post_outbox (id, type, post_id, created_at) values ");
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "" : ", ")
+                        .append("(next value for post_outbox_seq, :type").append(i)
+                        .append(", :postId").append(i)
+                        .append(", :createdAt)");
+            }
+
+            Query query = em.createNativeQuery(sql.toString())
+                    .setParameter("createdAt", createdAt);
+            for (int i = 0; i < chunk.size(); i++) {
+                query.setParameter("type" + i, chunk.get(i).getType().name())
+                        .setParameter("postId" + i, chunk.get(i).getPostId());
+            }
+            query.executeUpdate();
+        }
+    }
+
+    @Override
+    public long deleteBefore(LocalDateTime before) {
+        return queryFactory.delete(postOutbox)
+                .where(postOutbox.createdAt.lt(before))
+                .execute();
+    }
+}
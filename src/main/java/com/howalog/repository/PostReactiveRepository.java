@@ -0,0 +1,149 @@
+package com.howalog.repository;
+
+import com.howalog.datasource.ReadYourWrites;
+import com.howalog.domain.PostContentConverter;
+import com.howalog.request.PostSearch;
+import com.howalog.response.PostResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC 로 읽는 조회 전용 리포지토리. JPA 와 같은 post 테이블을 SQL 로 직접 읽는다.
+ * 커넥션 풀을 빈으로 노출하면 스프링 부트가 JDBC DataSource 자동 설정을 끄므로 여기서만 들고 있는다.
+ * <p>
+ * r2dbc-h2 는 내장 H2 엔진을 감싼 것이라 쿼리가 구독한 스레드에서 그대로 실행된다.
+ * MVC 는 요청 스레드에서 구독하므로, 요청 스레드를 막지 않도록 크기가 정해진 전용 스케줄러에서 구독한다.
+ * <p>
+ * 원본/복제본 선택은 JDBC 쪽과 같다. 최근에 쓴 클라이언트({@link ReadYourWrites})는 원본, 나머지는 복제본에서 읽는다.
+ * 고정 여부는 요청 스레드에만 있으므로 메서드를 호출하는 시점에 정한다.
+ */
+@Repository
+public class PostReactiveRepository {
+
+    private static final String COLUMNS = "id, title, version, modified_at";
+
+    private final ConnectionPool primaryPool;
+    private final ConnectionPool replicaPool;
+    private final DatabaseClient primary;
+    private final DatabaseClient replica;
+    private final Scheduler scheduler;
+    private final MeterRegistry meterRegistry;
+    private final PostContentConverter contentConverter = new PostContentConverter();
+
+    public PostReactiveRepository(@Value("${howalog.reactive.url}") String url,
+                                  @Value("${howalog.reactive.replica-url}") String replicaUrl,
+                                  @Value("${howalog.reactive.username}") String username,
+                                  @Value("${howalog.reactive.password}") String password,
+                                  @Value("${howalog.reactive.max-pool-size}") int maxPoolSize,
+                                  @Value("${howalog.reactive.scheduler-threads}") int schedulerThreads,
+                                  @Value("${howalog.reactive.scheduler-queue}") int schedulerQueue,
+                                  MeterRegistry meterRegistry) {
+        this.primaryPool = pool(url, username, password, maxPoolSize);
+        this.replicaPool = pool(replicaUrl, username, password, maxPoolSize);
+        this.primary = DatabaseClient.create(primaryPool);
+        this.replica = DatabaseClient.create(replicaPool);
+        this.scheduler = Schedulers.newBoundedElastic(schedulerThreads, schedulerQueue, "howalog-r2dbc");
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Mono<PostResponse> findById(Long id) {
+        return client().sql("select " + COLUMNS + ", content_data from post where id = :id")
+                .bind("id", id)
+                .map(this::toResponse)
+                .one()
+                .subscribeOn(scheduler);
+    }
+
+    /**
+     * 행을 읽는 대로 내보낸다. 구독자가 요청한 만큼만 읽어 느린 클라이언트 앞에 결과가 쌓이지 않는다.
+     * fields/excerpt 를 주면 본문 압축 컬럼 대신 요약 컬럼을 잘라 읽거나 본문을 아예 읽지 않는다.
+     */
+    public Flux<PostResponse> getList(PostSearch postSearch) {
+        boolean content = postSearch.includes("content");
+        boolean excerpt = postSearch.getExcerpt() != null;
+        String contentColumn = !content ? "" : excerpt ? ", substring(excerpt, 1, :length) as excerpt" : ", content_data";
+
+        DatabaseClient.GenericExecuteSpec spec = client()
+                .sql("select " + COLUMNS + contentColumn + " from post order by id desc limit :limit offset :offset")
+                .bind("limit", postSearch.getLimit())
+                .bind("offset", postSearch.getOffset());
+        if (content && excerpt) {
+            spec = spec.bind("length", postSearch.getExcerptLength());
+        }
+
+        return spec.map(row -> toResponse(row, postSearch, content, excerpt))
+                .all()
+                .subscribeOn(scheduler);
+    }
+
+    @PreDestroy
+    public void close() {
+        primaryPool.dispose();
+        replicaPool.dispose();
+        scheduler.dispose();
+    }
+
+    private DatabaseClient client() {
+        boolean pinned = ReadYourWrites.isPinned();
+        meterRegistry.counter("howalog.datasource.route", "target", pinned ? "primary" : "replica").increment();
+        return pinned ? primary : replica;
+    }
+
+    private PostResponse toResponse(Readable row) {
+        return PostResponse.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .content(decode(row.get("content_data", ByteBuffer.class)))
+                .version(row.get("version", Long.class))
+                .modifiedAt(row.get("modified_at", LocalDateTime.class))
+                .build();
+    }
+
+    private PostResponse toResponse(Readable row, PostSearch postSearch, boolean content, boolean excerpt) {
+        String body = null;
+        if (content) {
+            body = excerpt ? row.get("excerpt", String.class) : decode(row.get("content_data", ByteBuffer.class));
+        }
+        return PostResponse.builder()
+                .id(postSearch.includes("id") ? row.get("id", Long.class) : null)
+                .title(postSearch.includes("title") ? row.get("title", String.class) : null)
+                .content(body)
+                .version(postSearch.includes("version") ? row.get("version", Long.class) : null)
+                .modifiedAt(postSearch.includes("modifiedAt") ? row.get("modified_at", LocalDateTime.class) : null)
+                .build();
+    }
+
+    private String decode(ByteBuffer buffer) {
+        if (buffer == null) {
+            return null;
+        }
+        byte[] data = new byte[buffer.remaining()];
+        buffer.get(data);
+        return contentConverter.convertToEntityAttribute(data);
+    }
+
+    private static ConnectionPool pool(String url, String username, String password, int maxPoolSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(maxPoolSize)
+                .build());
+    }
+}
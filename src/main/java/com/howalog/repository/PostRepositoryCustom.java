@@ -1,11 +1,81 @@
 package com.howalog.repository;
 
-import com.howalog.domain.Post;
+import com.howalog.domain.PostTag;
 import com.howalog.request.PostSearch;
+import com.howalog.response.PostResponse;
+import com.howalog.response.PostSummaryResponse;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PostRepositoryCustom {
 
-    List<Post> getList(PostSearch postSearch);
+    List<PostResponse> getList(PostSearch postSearch);
+
+    List<Long> getIds(PostSearch postSearch);
+
+    /**
+     * 커서 이전(id 미만)의 글을 id 역순으로 size + 1 개까지 조회한다.
+     * 한 개를 더 읽어 다음 페이지 존재 여부를 판단한다.
+     */
+    List<PostResponse> getSlice(PostSearch postSearch);
+
+    /**
+     * 엔티티를 만들지 않고 id, 제목, 본문 앞부분만 DTO 로 바로 조회한다.
+     */
+    List<PostSummaryResponse> getSummaryList(PostSearch postSearch);
+
+    /**
+     * fields/excerpt 로 요청된 컬럼만 조회한다. 본문을 요청하지 않으면 본문 컬럼은 읽지 않는다.
+     */
+    List<PostResponse> getPartialList(PostSearch postSearch);
+
+    /**
+     * 전체 글을 id 순서로 전진 전용 커서에서 읽는다. 트랜잭션 안에서 사용하고 반드시 닫아야 한다.
+     */
+    Stream<PostResponse> streamAll(int fetchSize);
+
+    /**
+     * 본문을 포함한 응답을 엔티티 없이 한 번의 select 로 조회한다.
+     */
+    Optional<PostResponse> findResponse(Long id);
+
+    /**
+     * 여러 글을 IN 한 번으로 조회한다. 순서는 보장하지 않는다.
+     */
+    List<PostResponse> findResponses(Collection<Long> ids);
+
+    /**
+     * null 이 아닌 필드만 한 번의 UPDATE 로 바꾸고 버전을 올린다.
+     * version 이 주어지면 같은 버전일 때만 바꾼다.
+     *
+     * @return 변경된 행 수
+     */
+    long update(Long id, Long version, String title, String content);
+
+    /**
+     * 본문을 읽지 않고 조건부 GET 판단에 필요한 버전 정보만 조회한다.
+     */
+    Optional<PostTag> findTag(Long id);
+
+    /**
+     * 엔티티를 읽지 않고 DELETE 한 번으로 지운다.
+     *
+     * @return 삭제된 행 수
+     */
+    long deletePost(Long id);
+
+    long deletePosts(List<Long> ids);
+
+    /**
+     * 주어진 id 중 실제로 존재하는 id 만 돌려준다.
+     */
+    List<Long> getExistingIds(List<Long> ids);
+
+    /**
+     * fromId 이상 toId 이하의 id 를 오름차순으로 limit 개까지 돌려준다.
+     */
+    List<Long> getIdsBetween(Long fromId, Long toId, int limit);
 }
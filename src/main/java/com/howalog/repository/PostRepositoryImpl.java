@@ -1,25 +1,229 @@
 package com.howalog.repository;
 
 import com.howalog.domain.Post;
+import com.howalog.domain.PostTag;
 import com.howalog.request.PostSearch;
+import com.howalog.response.PostResponse;
+import com.howalog.response.PostSummaryResponse;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.StringExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.AvailableHints;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static com.howalog.domain.QPost.post;
+import static com.howalog.response.PostSummaryResponse.EXCERPT_LENGTH;
+import static java.util.stream.Collectors.toList;
 
 @RequiredArgsConstructor
 public class PostRepositoryImpl implements PostRepositoryCustom {
 
     private final JPAQueryFactory queryFactory;
+    private final MeterRegistry meterRegistry;
 
     @Override
-    public List<Post> getList(PostSearch postSearch) {
-        return queryFactory.selectFrom(post)
-                .limit(postSearch.getSize())
+    public List<PostResponse> getList(PostSearch postSearch) {
+        return record("getList", () -> queryFactory.select(postResponse())
+                .from(post)
+                .limit(postSearch.getLimit())
                 .offset(postSearch.getOffset())
                 .orderBy(post.id.desc())
+                .fetch());
+    }
+
+    @Override
+    public List<Long> getIds(PostSearch postSearch) {
+        return record("getIds", () -> queryFactory.select(post.id)
+                .from(post)
+                .limit(postSearch.getLimit())
+                .offset(postSearch.getOffset())
+                .orderBy(post.id.desc())
+                .fetch());
+    }
+
+    @Override
+    public List<PostResponse> getSlice(PostSearch postSearch) {
+        return record("getSlice", () -> queryFactory.select(postResponse())
+                .from(post)
+                .where(idBefore(postSearch.getBefore()))
+                .limit(postSearch.getLimit() + 1)
+                .orderBy(post.id.desc())
+                .fetch());
+    }
+
+    @Override
+    public List<PostSummaryResponse> getSummaryList(PostSearch postSearch) {
+        return record("getSummaryList", () -> queryFactory.select(Projections.constructor(PostSummaryResponse.class,
+                        post.id,
+                        post.title,
+                        post.excerpt.substring(0, EXCERPT_LENGTH)))
+                .from(post)
+                .limit(postSearch.getLimit())
+                .offset(postSearch.getOffset())
+                .orderBy(post.id.desc())
+                .fetch());
+    }
+
+    @Override
+    public List<PostResponse> getPartialList(PostSearch postSearch) {
+        StringExpression content = postSearch.getExcerpt() == null
+                ? post.content
+                : post.excerpt.substring(0, postSearch.getExcerptLength());
+
+        List<Expression<?>> columns = new ArrayList<>(List.of(post.id, post.title, post.version, post.modifiedAt));
+        if (postSearch.includes("content")) {
+            columns.add(content);
+        }
+
+        List<Tuple> rows = record("getPartialList", () -> queryFactory.select(columns.toArray(new Expression<?>[0]))
+                .from(post)
+                .limit(postSearch.getLimit())
+                .offset(postSearch.getOffset())
+                .orderBy(post.id.desc())
+                .fetch());
+
+        return rows.stream()
+                .map(row -> PostResponse.builder()
+                        .id(postSearch.includes("id") ? row.get(post.id) : null)
+                        .title(postSearch.includes("title") ? row.get(post.title) : null)
+                        .content(postSearch.includes("content") ? row.get(content) : null)
+                        .version(postSearch.includes("version") ? row.get(post.version) : null)
+                        .modifiedAt(postSearch.includes("modifiedAt") ? row.get(post.modifiedAt) : null)
+                        .build())
+                .collect(toList());
+    }
+
+    @Override
+    public Stream<PostResponse> streamAll(int fetchSize) {
+        return queryFactory.select(postResponse())
+                .from(post)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .orderBy(post.id.asc())
+                .stream();
+    }
+
+    @Override
+    public long update(Long id, Long version, String title, String content) {
+        JPAUpdateClause update = queryFactory.update(post)
+                .set(post.version, post.version.add(1))
+                .set(post.modifiedAt, LocalDateTime.now())
+                .where(post.id.eq(id), versionEq(version));
+
+        if (title != null) {
+            update.set(post.title, title);
+        }
+        if (content != null) {
+            update.set(post.content, content);
+            update.set(post.excerpt, Post.excerptOf(content));
+        }
+        return update.execute();
+    }
+
+    @Override
+    public Optional<PostResponse> findResponse(Long id) {
+        return Optional.ofNullable(queryFactory.select(postResponse())
+                .from(post)
+                .where(post.id.eq(id))
+                .fetchOne());
+    }
+
+    @Override
+    public List<PostResponse> findResponses(Collection<Long> ids) {
+        return record("findResponses", () -> queryFactory.select(postResponse())
+                .from(post)
+                .where(post.id.in(ids))
+                .fetch());
+    }
+
+    @Override
+    public Optional<PostTag> findTag(Long id) {
+        return Optional.ofNullable(queryFactory.select(Projections.constructor(PostTag.class,
+                        post.id,
+                        post.version,
+                        post.modifiedAt))
+                .from(post)
+                .where(post.id.eq(id))
+                .fetchOne());
+    }
+
+    @Override
+    public long deletePost(Long id) {
+        return queryFactory.delete(post)
+                .where(post.id.eq(id))
+                .execute();
+    }
+
+    @Override
+    public long deletePosts(List<Long> ids) {
+        return queryFactory.delete(post)
+                .where(post.id.in(ids))
+                .execute();
+    }
+
+    @Override
+    public List<Long> getExistingIds(List<Long> ids) {
+        return queryFactory.select(post.id)
+                .from(post)
+                .where(post.id.in(ids))
                 .fetch();
     }
+
+    @Override
+    public List<Long> getIdsBetween(Long fromId, Long toId, int limit) {
+        return queryFactory.select(post.id)
+                .from(post)
+                .where(post.id.between(fromId, toId))
+                .orderBy(post.id.asc())
+                .limit(limit)
+                .fetch();
+    }
+
+    /**
+     * 쿼리별 소요 시간(howalog.query)과 반환 행 수(howalog.query.rows)를 기록한다.
+     * findById 같은 기본 메서드는 spring.data.repository.invocations 로 집계된다.
+     */
+    private <T> List<T> record(String query, Supplier<List<T>> fetch) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<T> rows = fetch.get();
+        sample.stop(meterRegistry.timer("howalog.query", "query", query));
+        meterRegistry.summary("howalog.query.rows", "query", query).record(rows.size());
+        return rows;
+    }
+
+    /**
+     * 본문이 필요한 응답은 엔티티 대신 한 번의 select 로 바로 만든다.
+     * 본문은 지연 로딩이라 엔티티로 읽으면 글마다 본문 select 가 추가로 나간다.
+     */
+    private ConstructorExpression<PostResponse> postResponse() {
+        return Projections.constructor(PostResponse.class,
+                post.id,
+                post.title,
+                post.content,
+                post.version,
+                post.modifiedAt);
+    }
+
+    private BooleanExpression idBefore(Long before) {
+        return before == null ? null : post.id.lt(before);
+    }
+
+    private BooleanExpression versionEq(Long version) {
+        return version == null ? null : post.version.eq(version);
+    }
 }
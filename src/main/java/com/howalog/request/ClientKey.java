@@ -0,0 +1,22 @@
+package com.howalog.request;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * 요청한 클라이언트를 구분하는 키. X-Client-Id 헤더가 있으면 그 값을, 없으면 접속 주소를 쓴다.
+ */
+public final class ClientKey {
+
+    public static final String HEADER = "X-Client-Id";
+
+    private ClientKey() {
+    }
+
+    public static String resolve(HttpServletRequest request) {
+        String clientId = request.getHeader(HEADER);
+        if (clientId == null || clientId.isBlank()) {
+            return request.getRemoteAddr();
+        }
+        return clientId;
+    }
+}
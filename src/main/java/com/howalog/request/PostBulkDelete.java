@@ -0,0 +1,28 @@
+package com.howalog.request;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 대량 삭제 조건. id 목록 또는 id 범위(fromId 이상 toId 이하) 중 하나를 지정한다.
+ */
+@Getter
+@Setter
+@Builder
+public class PostBulkDelete {
+
+    private List<Long> ids;
+    private Long fromId;
+    private Long toId;
+
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    public boolean hasRange() {
+        return fromId != null && toId != null;
+    }
+}
@@ -1,6 +1,5 @@
 package com.howalog.request;
 
-import com.howalog.exception.InvalidException;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Builder;
 import lombok.Getter;
@@ -22,10 +21,4 @@ public class PostCreate {
         this.title = title;
         this.content = content;
     }
-
-    public void isValid() {
-        if (title.contains("ㅅㅂ")) {
-            throw new InvalidException("title", "제목에 욕설을 포함할 수 없습니다.");
-        }
-    }
 }
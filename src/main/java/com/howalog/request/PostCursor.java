@@ -0,0 +1,43 @@
+package com.howalog.request;
+
+import com.howalog.exception.InvalidRequest;
+
+import java.util.Base64;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * 커서 페이징에 사용하는 불투명(opaque) 커서.
+ * 클라이언트는 값을 해석하지 않고 응답의 nextCursor 를 그대로 돌려보낸다.
+ */
+public final class PostCursor {
+
+    private static final String PREFIX = "id:";
+
+    private PostCursor() {
+    }
+
+    public static String encode(Long id) {
+        if (id == null) {
+            return null;
+        }
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((PREFIX + id).getBytes(UTF_8));
+    }
+
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw new IllegalArgumentException(decoded);
+            }
+            return Long.parseLong(decoded.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequest("cursor", "잘못된 커서입니다.");
+        }
+    }
+}
@@ -12,9 +12,22 @@ public class PostEdit {
     @NotBlank(message = "컨텐츠를 입력해 주세요")
     private String content;
 
+    /**
+     * 클라이언트가 마지막으로 읽은 버전. 바꿀 필드가 있으면 꼭 보내야 하고(없으면 428), 그 사이 다른 수정이 있었으면 409 로 거절한다.
+     */
+    private Long version;
+
     @Builder
-    public PostEdit(String title, String content) {
+    public PostEdit(String title, String content, Long version) {
         this.title = title;
         this.content = content;
+        this.version = version;
+    }
+
+    /**
+     * null 인 필드는 바꾸지 않는다.
+     */
+    public boolean hasChanges() {
+        return title != null || content != null;
     }
 }
@@ -1,9 +1,13 @@
 package com.howalog.request;
 
+import com.howalog.domain.Post;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.List;
+import java.util.Set;
+
 import static java.lang.Math.*;
 
 @Getter
@@ -11,14 +15,89 @@ import static java.lang.Math.*;
 @Builder
 public class PostSearch {
 
+    private static final int DEFAULT_SIZE = 10;
     private static final int MAX_SIZE = 2_000;
+    private static final int MAX_CACHED_PAGE = 5;
+    private static final int MAX_EXCERPT = Post.EXCERPT_LENGTH;
+
+    public static final Set<String> FIELDS = Set.of("id", "title", "content", "version", "modifiedAt");
 
     @Builder.Default
     private int page = 1;
     @Builder.Default
-    private int size = 10;
+    private int size = DEFAULT_SIZE;
+
+    /**
+     * 커서 페이징 시 이전 응답의 nextCursor. 비어 있으면 첫 페이지.
+     */
+    private String cursor;
+
+    /**
+     * 응답에 담을 필드. 비어 있으면 전체 필드. 예) fields=id,title
+     */
+    private List<String> fields;
+
+    /**
+     * 본문을 앞에서부터 이 길이만큼만 내려준다. 비어 있으면 전체 본문.
+     */
+    private Integer excerpt;
 
     public long getOffset() {
-        return (long) (max(this.page, 1) - 1) * min(size, MAX_SIZE);
+        return (long) (max(this.page, 1) - 1) * getLimit();
+    }
+
+    public int getLimit() {
+        return size <= 0 ? DEFAULT_SIZE : min(size, MAX_SIZE);
+    }
+
+    public long getTotalPages(long totalCount) {
+        int limit = getLimit();
+        return (totalCount + limit - 1) / limit;
+    }
+
+    public Long getBefore() {
+        return PostCursor.decode(cursor);
+    }
+
+    /**
+     * fields/excerpt 없이 모든 필드와 전체 본문을 요청했는지.
+     */
+    public boolean isFullResponse() {
+        return (fields == null || fields.isEmpty()) && excerpt == null;
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.isEmpty() || fields.contains(field);
+    }
+
+    public boolean hasUnknownField() {
+        return fields != null && !FIELDS.containsAll(fields);
+    }
+
+    public int getExcerptLength() {
+        return excerpt == null ? MAX_EXCERPT : min(max(excerpt, 0), MAX_EXCERPT);
+    }
+
+    /**
+     * 목록 조회는 앞쪽 몇 페이지에 몰리므로 그 페이지들만 캐시한다.
+     */
+    public boolean isCachedPage() {
+        return page <= MAX_CACHED_PAGE;
+    }
+
+    public boolean isFirstSlice() {
+        return cursor == null || cursor.isBlank();
+    }
+
+    public String getPageKey() {
+        String key = "page:" + max(page, 1) + ":" + getLimit();
+        if (isFullResponse()) {
+            return key;
+        }
+        return key + ":" + (fields == null ? "" : String.join(",", fields)) + ":" + (excerpt == null ? "" : getExcerptLength());
+    }
+
+    public String getSliceKey() {
+        return "cursor::" + getLimit();
     }
 }
@@ -0,0 +1,31 @@
+package com.howalog.response;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 대량 작성 요청의 항목별 결과. 저장되면 id, 검증에 실패하면 validation 이 채워진다.
+ */
+@Getter
+public class PostBatchItemResponse {
+
+    private final int index;
+    private final Long id;
+    private final Map<String, String> validation;
+
+    private PostBatchItemResponse(int index, Long id, Map<String, String> validation) {
+        this.index = index;
+        this.id = id;
+        this.validation = validation;
+    }
+
+    public static PostBatchItemResponse created(int index, Long id) {
+        return new PostBatchItemResponse(index, id, new HashMap<>());
+    }
+
+    public static PostBatchItemResponse invalid(int index, Map<String, String> validation) {
+        return new PostBatchItemResponse(index, null, validation);
+    }
+}
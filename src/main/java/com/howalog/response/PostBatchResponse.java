@@ -0,0 +1,26 @@
+package com.howalog.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class PostBatchResponse {
+
+    private final int requested;
+    private final int created;
+    private final long elapsedMillis;
+    private final double rowsPerSecond;
+    private final List<PostBatchItemResponse> items;
+
+    @Builder
+    public PostBatchResponse(int requested, int created, long elapsedMillis, double rowsPerSecond,
+                             List<PostBatchItemResponse> items) {
+        this.requested = requested;
+        this.created = created;
+        this.elapsedMillis = elapsedMillis;
+        this.rowsPerSecond = rowsPerSecond;
+        this.items = items;
+    }
+}
@@ -0,0 +1,18 @@
+package com.howalog.response;
+
+import lombok.Getter;
+
+/**
+ * hasMore 가 true 면 한 번에 삭제할 수 있는 양을 넘은 것이므로 같은 조건으로 다시 요청한다.
+ */
+@Getter
+public class PostBulkDeleteResponse {
+
+    private final long deleted;
+    private final boolean hasMore;
+
+    public PostBulkDeleteResponse(long deleted, boolean hasMore) {
+        this.deleted = deleted;
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,25 @@
+package com.howalog.response;
+
+import com.howalog.event.PostEvent;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 변경 스트림으로 내려가는 글 변경 한 건. 본문은 담지 않으며 필요하면 GET /posts?ids= 로 읽는다.
+ */
+@Getter
+public class PostChangeResponse {
+
+    private final Long offset;
+    private final PostEvent.Type type;
+    private final Long postId;
+    private final LocalDateTime createdAt;
+
+    public PostChangeResponse(Long offset, PostEvent.Type type, Long postId, LocalDateTime createdAt) {
+        this.offset = offset;
+        this.type = type;
+        this.postId = postId;
+        this.createdAt = createdAt;
+    }
+}
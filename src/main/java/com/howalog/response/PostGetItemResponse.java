@@ -0,0 +1,42 @@
+package com.howalog.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.howalog.exception.PostNotFound;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * 여러 글 조회의 항목별 결과. 찾으면 post, 없으면 error 가 채워진다.
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PostGetItemResponse {
+
+    /**
+     * 없는 글 항목마다 예외를 만들지 않도록 같은 오류 응답을 나눠 쓴다. 그래서 validation 은 바꿀 수 없는 빈 맵이다.
+     */
+    private static final ErrorResponse NOT_FOUND = ErrorResponse.builder()
+            .code(String.valueOf(PostNotFound.STATUS_CODE))
+            .message(PostNotFound.MESSAGE)
+            .validation(Map.of())
+            .build();
+
+    private final Long id;
+    private final PostResponse post;
+    private final ErrorResponse error;
+
+    private PostGetItemResponse(Long id, PostResponse post, ErrorResponse error) {
+        this.id = id;
+        this.post = post;
+        this.error = error;
+    }
+
+    public static PostGetItemResponse found(PostResponse post) {
+        return new PostGetItemResponse(post.getId(), post, null);
+    }
+
+    public static PostGetItemResponse notFound(Long id) {
+        return new PostGetItemResponse(id, null, NOT_FOUND);
+    }
+}
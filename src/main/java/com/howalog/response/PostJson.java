@@ -0,0 +1,74 @@
+package com.howalog.response;
+
+import com.howalog.domain.PostTag;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * 미리 직렬화해 둔 PostResponse JSON 바이트. 단건은 그대로, 목록은 [ , ] 사이에 이어 붙여 쓴다.
+ * 쓰는 동안 객체를 다시 만들거나 Jackson 을 거치지 않는다.
+ */
+public class PostJson {
+
+    private static final byte[] OPEN = {'['};
+    private static final byte[] SEPARATOR = {','};
+    private static final byte[] CLOSE = {']'};
+
+    private final List<byte[]> items;
+    private final boolean array;
+
+    private PostJson(List<byte[]> items, boolean array) {
+        this.items = items;
+        this.array = array;
+    }
+
+    public static PostJson single(byte[] item) {
+        return new PostJson(List.of(item), false);
+    }
+
+    public static PostJson array(List<byte[]> items) {
+        return new PostJson(items, true);
+    }
+
+    public long getContentLength() {
+        long length = array ? OPEN.length + CLOSE.length + Math.max(items.size() - 1, 0) : 0;
+        for (byte[] item : items) {
+            length += item.length;
+        }
+        return length;
+    }
+
+    public void writeTo(OutputStream outputStream) throws IOException {
+        if (!array) {
+            outputStream.write(items.get(0));
+            return;
+        }
+
+        outputStream.write(OPEN);
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) {
+                outputStream.write(SEPARATOR);
+            }
+            outputStream.write(items.get(i));
+        }
+        outputStream.write(CLOSE);
+    }
+
+    /**
+     * 캐시에 넣는 글 하나. 조건부 GET 을 DB 없이 판단하도록 버전 정보를 바이트와 함께 둔다.
+     */
+    @Getter
+    public static class Item {
+
+        private final byte[] json;
+        private final PostTag tag;
+
+        public Item(byte[] json, PostTag tag) {
+            this.json = json;
+            this.tag = tag;
+        }
+    }
+}
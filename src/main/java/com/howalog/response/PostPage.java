@@ -0,0 +1,26 @@
+package com.howalog.response;
+
+import lombok.Getter;
+
+/**
+ * 목록 응답 본문과 그 본문을 읽은 시점의 전역 쓰기 버전({@link com.howalog.service.PostWriteVersion}).
+ * 목록 캐시에 이 단위로 넣고, ETag 도 캐시에 든 이 버전으로 만든다.
+ * 읽는 동안 커밋이 끼어들어 어느 버전의 목록인지 알 수 없으면 eTag 는 null 이고 캐시하지 않는다.
+ */
+@Getter
+public class PostPage<T> {
+
+    private final T body;
+    private final long version;
+    private final String eTag;
+
+    public PostPage(T body, long version, String eTag) {
+        this.body = body;
+        this.version = version;
+        this.eTag = eTag;
+    }
+
+    public static <T> PostPage<T> unversioned(T body) {
+        return new PostPage<>(body, -1, null);
+    }
+}
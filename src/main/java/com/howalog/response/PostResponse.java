@@ -1,27 +1,40 @@
 package com.howalog.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.howalog.domain.Post;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.time.LocalDateTime;
+
+/**
+ * fields/excerpt 로 일부 필드만 채운 응답은 빈 필드를 내려주지 않는다.
+ */
 @Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PostResponse {
 
     private Long id;
     private String title;
     private String content;
+    private Long version;
+    private LocalDateTime modifiedAt;
 
     public PostResponse(Post post) {
         this.id= post.getId();
         this.title = post.getTitle();
         this.content = post.getContent();
+        this.version = post.getVersion();
+        this.modifiedAt = post.getModifiedAt();
     }
 
     @Builder
-    public PostResponse(Long id, String title, String content) {
+    public PostResponse(Long id, String title, String content, Long version, LocalDateTime modifiedAt) {
         this.id = id;
         this.title = title;
         this.content = content;
+        this.version = version;
+        this.modifiedAt = modifiedAt;
     }
 
 }
@@ -0,0 +1,17 @@
+package com.howalog.response;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class PostSearchResponse {
+
+    private final long total;
+    private final List<PostResponse> posts;
+
+    public PostSearchResponse(long total, List<PostResponse> posts) {
+        this.total = total;
+        this.posts = posts;
+    }
+}
@@ -0,0 +1,17 @@
+package com.howalog.response;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class PostSliceResponse {
+
+    private final List<PostResponse> posts;
+    private final String nextCursor;
+
+    public PostSliceResponse(List<PostResponse> posts, String nextCursor) {
+        this.posts = posts;
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,22 @@
+package com.howalog.response;
+
+import lombok.Getter;
+
+/**
+ * 목록 화면용 응답. 본문 전체 대신 앞부분 일부(excerpt)만 담는다.
+ */
+@Getter
+public class PostSummaryResponse {
+
+    public static final int EXCERPT_LENGTH = 200;
+
+    private final Long id;
+    private final String title;
+    private final String excerpt;
+
+    public PostSummaryResponse(Long id, String title, String excerpt) {
+        this.id = id;
+        this.title = title;
+        this.excerpt = excerpt;
+    }
+}
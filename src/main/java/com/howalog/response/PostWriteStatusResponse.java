@@ -0,0 +1,41 @@
+package com.howalog.response;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 비동기 작성 요청의 처리 상태. 저장되면 postId, 검증에 실패하면 validation 이 채워진다.
+ */
+@Getter
+public class PostWriteStatusResponse {
+
+    public enum Status {
+        PENDING, DONE, FAILED
+    }
+
+    private final String trackingId;
+    private final Status status;
+    private final Long postId;
+    private final Map<String, String> validation;
+
+    private PostWriteStatusResponse(String trackingId, Status status, Long postId, Map<String, String> validation) {
+        this.trackingId = trackingId;
+        this.status = status;
+        this.postId = postId;
+        this.validation = validation;
+    }
+
+    public static PostWriteStatusResponse pending(String trackingId) {
+        return new PostWriteStatusResponse(trackingId, Status.PENDING, null, new HashMap<>());
+    }
+
+    public static PostWriteStatusResponse done(String trackingId, Long postId) {
+        return new PostWriteStatusResponse(trackingId, Status.DONE, postId, new HashMap<>());
+    }
+
+    public static PostWriteStatusResponse failed(String trackingId, Map<String, String> validation) {
+        return new PostWriteStatusResponse(trackingId, Status.FAILED, null, validation);
+    }
+}
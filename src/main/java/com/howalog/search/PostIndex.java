@@ -0,0 +1,199 @@
+package com.howalog.search;
+
+import com.howalog.exception.InvalidRequest;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.ko.KoreanAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * 글 제목/본문에 대한 로컬 디스크 Lucene 역색인.
+ * howalog.search.index-path 를 지정하지 않으면 임시 디렉터리에 만들고 종료 시 지운다.
+ */
+@Slf4j
+@Component
+public class PostIndex {
+
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String CONTENT = "content";
+    private static final Map<String, Float> BOOSTS = Map.of(TITLE, 2f, CONTENT, 1f);
+
+    private final Path path;
+    private final boolean temporary;
+    private final Directory directory;
+    private final Analyzer analyzer = new KoreanAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final AtomicBoolean stale = new AtomicBoolean();
+
+    public PostIndex(@Value("${howalog.search.index-path:}") String indexPath) throws IOException {
+        this.temporary = indexPath.isBlank();
+        this.path = temporary ? Files.createTempDirectory("howalog-index") : Path.of(indexPath);
+        this.directory = FSDirectory.open(path);
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+        log.info("post index opened at {}", path);
+    }
+
+    /**
+     * 글을 색인하거나 기존 문서를 교체한다. searcher 는 바로 갱신하지 않고 다음 검색 직전에 한 번만 갱신한다.
+     * 배치 작성/삭제처럼 이벤트가 수천 건 몰려도 NRT reader 는 검색 한 번에 하나만 연다.
+     */
+    public void index(Long id, String title, String content) {
+        add(id, title, content);
+    }
+
+    public void delete(Long id) {
+        try {
+            writer.deleteDocuments(new Term(ID, String.valueOf(id)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        stale.set(true);
+    }
+
+    public void add(Long id, String title, String content) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(id), Field.Store.YES));
+        document.add(new TextField(TITLE, nullToEmpty(title), Field.Store.NO));
+        document.add(new TextField(CONTENT, nullToEmpty(content), Field.Store.NO));
+        try {
+            writer.updateDocument(new Term(ID, String.valueOf(id)), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        stale.set(true);
+    }
+
+    public void clear() {
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        stale.set(true);
+    }
+
+    public void commit() {
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        refresh();
+    }
+
+    public void refresh() {
+        stale.set(false);
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void refreshIfStale() {
+        if (stale.get()) {
+            refresh();
+        }
+    }
+
+    /**
+     * 점수 순으로 offset 부터 limit 개의 글 id 를 돌려준다.
+     */
+    public Hits search(String keyword, int offset, int limit) {
+        Query query = parse(keyword);
+        refreshIfStale();
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, offset + limit);
+                ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+                List<Long> ids = new ArrayList<>(Math.max(scoreDocs.length - offset, 0));
+                for (int i = offset; i < scoreDocs.length; i++) {
+                    ids.add(Long.valueOf(searcher.doc(scoreDocs[i].doc).get(ID)));
+                }
+                return new Hits(topDocs.totalHits.value, ids);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Query parse(String keyword) {
+        // QueryParser 는 스레드 안전하지 않으므로 요청마다 만든다.
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(new String[]{TITLE, CONTENT}, analyzer, BOOSTS);
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        try {
+            return parser.parse(QueryParser.escape(keyword));
+        } catch (ParseException e) {
+            throw new InvalidRequest("q", "검색어를 해석할 수 없습니다.");
+        }
+    }
+
+    private String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+        analyzer.close();
+
+        if (temporary) {
+            try (Stream<Path> files = Files.walk(path)) {
+                files.sorted(Comparator.reverseOrder())
+                        .forEach(file -> file.toFile().delete());
+            }
+        }
+    }
+
+    @Getter
+    public static class Hits {
+
+        private final long total;
+        private final List<Long> ids;
+
+        public Hits(long total, List<Long> ids) {
+            this.total = total;
+            this.ids = ids;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.howalog.service;
+
+import com.howalog.repository.PostOutboxRepository;
+import com.howalog.response.PostChangeResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 아웃박스를 따라가며 구독자에게 글 변경을 SSE 로 보낸다.
+ * <p>
+ * 폴링 스레드는 DB 를 한 번 읽어 따라잡은 구독자마다 묶음을 버퍼(subscriber-buffer 개)에 넣기만 한다.
+ * 보내기는 구독자마다 가상 스레드에서 하므로 느린 클라이언트가 다른 구독자를 막지 않는다.
+ * 버퍼가 넘친 구독자는 연결을 끊고, 클라이언트는 Last-Event-ID 로 다시 붙어 DB 에서 따라잡는다.
+ * 뒤처진 구독자는 자기 보내기 스레드에서 head 까지 BATCH_SIZE 개씩 읽은 뒤 따라잡은 구독자가 된다.
+ * 한 묶음은 SSE 이벤트 하나(name=posts)로 보내고 이벤트 id 는 묶음의 마지막 오프셋이다.
+ * <p>
+ * 오프셋은 커밋 순서대로 매겨진다({@link PostOutboxRecorder}). 읽은 오프셋 사이의 빈 번호는 이미 끝난
+ * 트랜잭션이 버린 번호라 다시 채워지지 않으므로 기다리지 않고 건너뛴다. 늦게 커밋되는 변경이 빠지지 않는다.
+ */
+@Slf4j
+@Component
+public class PostChangeStream {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final String EVENT_NAME = "posts";
+
+    private final PostOutboxRepository postOutboxRepository;
+    private final Duration timeout;
+    private final int bufferSize;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter sent;
+    private final Counter dropped;
+    private final Counter skipped;
+
+    /**
+     * 이 오프셋까지는 더 채워질 번호가 없다. 따라잡은 구독자는 여기까지 받았다. 폴링 스레드만 바꾼다.
+     */
+    private volatile long head;
+
+    public PostChangeStream(PostOutboxRepository postOutboxRepository,
+                            @Value("${howalog.outbox.stream-timeout}") Duration timeout,
+                            @Value("${howalog.outbox.subscriber-buffer}") int bufferSize,
+                            MeterRegistry meterRegistry) {
+        this.postOutboxRepository = postOutboxRepository;
+        this.timeout = timeout;
+        this.bufferSize = bufferSize;
+        this.sent = meterRegistry.counter("howalog.outbox.sent");
+        this.dropped = meterRegistry.counter("howalog.outbox.dropped");
+        this.skipped = meterRegistry.counter("howalog.outbox.skipped");
+        Gauge.builder("howalog.outbox.subscribers", subscribers, List::size)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        head = postOutboxRepository.getLastOffset();
+    }
+
+    /**
+     * @param offset 이 오프셋 이후부터 받는다. 비어 있으면 지금 이후의 변경만 받는다.
+     *               아직 없는 오프셋(DB 가 초기화되기 전에 받은 Last-Event-ID 등)은 head 로 낮춘다.
+     *               그대로 두면 그 번호까지의 새 변경을 받지 못한다.
+     */
+    public SseEmitter subscribe(Long offset) {
+        long current = head;
+        if (offset != null && offset > current) {
+            log.debug("post change offset {} is ahead of head {}, starting from head", offset, current);
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, offset == null ? current : Math.min(offset, current), bufferSize);
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+        subscribers.add(subscriber);
+        wake(subscriber);
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${howalog.outbox.poll-interval}")
+    public void poll() {
+        List<PostChangeResponse> changes = postOutboxRepository.getChanges(head, Long.MAX_VALUE, BATCH_SIZE);
+        if (changes.isEmpty()) {
+            return;
+        }
+        countSkipped(changes);
+
+        // 뒤처진 구독자가 따라잡은 구독자로 바뀌는 것과 head 이동이 엇갈리지 않도록 묶는다.
+        synchronized (this) {
+            head = changes.get(changes.size() - 1).getOffset();
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.live) {
+                    enqueue(subscriber, changes);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        senders.shutdownNow();
+    }
+
+    /**
+     * 버려진 번호 수. 롤백된 쓰기나 재시작 때 시퀀스 캐시가 남긴 번호다.
+     */
+    private void countSkipped(List<PostChangeResponse> changes) {
+        long expected = head + 1;
+        for (PostChangeResponse change : changes) {
+            if (change.getOffset() > expected) {
+                skipped.increment(change.getOffset() - expected);
+            }
+            expected = change.getOffset() + 1;
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, List<PostChangeResponse> changes) {
+        if (subscriber.queue.offer(changes)) {
+            wake(subscriber);
+            return;
+        }
+
+        // 느린 구독자를 끊는 것도 보내기 스레드에서 한다. 보내는 중인 emitter 는 잠겨 있다.
+        dropped.increment();
+        subscribers.remove(subscriber);
+        subscriber.closed = true;
+        senders.execute(subscriber.emitter::complete);
+    }
+
+    private void wake(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (!subscriber.live) {
+                catchUp(subscriber);
+            }
+            List<PostChangeResponse> batch;
+            while (!subscriber.closed && (batch = subscriber.queue.poll()) != null) {
+                send(subscriber, after(batch, subscriber.offset));
+            }
+        } catch (RuntimeException e) {
+            log.warn("post change subscriber failed", e);
+            close(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        if (!subscriber.closed && !subscriber.queue.isEmpty()) {
+            wake(subscriber);
+        }
+    }
+
+    /**
+     * head 까지 DB 에서 읽어 보낸 뒤 따라잡은 구독자로 바꾼다.
+     */
+    private void catchUp(Subscriber subscriber) {
+        while (!subscriber.closed) {
+            long upTo = head;
+            if (subscriber.offset >= upTo) {
+                synchronized (this) {
+                    if (subscriber.offset >= head) {
+                        subscriber.live = true;
+                        return;
+                    }
+                }
+                continue;
+            }
+
+            List<PostChangeResponse> batch = postOutboxRepository.getChanges(subscriber.offset, upTo, BATCH_SIZE);
+            if (batch.isEmpty()) {
+                // 보관 기간이 지나 지워졌거나 건너뛴 번호뿐이다.
+                subscriber.offset = upTo;
+            } else {
+                send(subscriber, batch);
+            }
+        }
+    }
+
+    private List<PostChangeResponse> after(List<PostChangeResponse> changes, long offset) {
+        int from = 0;
+        while (from < changes.size() && changes.get(from).getOffset() <= offset) {
+            from++;
+        }
+        return changes.subList(from, changes.size());
+    }
+
+    private void send(Subscriber subscriber, List<PostChangeResponse> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        long last = batch.get(batch.size() - 1).getOffset();
+        try {
+            subscriber.emitter.send(SseEmitter.event()
+                    .id(String.valueOf(last))
+                    .name(EVENT_NAME)
+                    .data(batch, MediaType.APPLICATION_JSON));
+            subscriber.offset = last;
+            sent.increment(batch.size());
+        } catch (IOException | IllegalStateException e) {
+            log.debug("post change subscriber disconnected", e);
+            close(subscriber);
+            subscriber.emitter.completeWithError(e);
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+    }
+
+    private static class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<List<PostChangeResponse>> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        /**
+         * 마지막으로 보낸 오프셋. 보내기 스레드만 바꾼다.
+         */
+        private volatile long offset;
+        private volatile boolean live;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, long offset, int bufferSize) {
+            this.emitter = emitter;
+            this.offset = offset;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.howalog.service;
+
+import com.howalog.domain.Post;
+import com.howalog.domain.PostContentConverter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 압축 도입 이전 평문 본문(content CLOB 컬럼)을 압축 컬럼(content_data)으로 옮긴다.
+ * BATCH_SIZE 건씩 나눠 옮기고 묶음마다 커밋하므로 중간에 멈춰도 다음 기동 때 이어서 진행한다.
+ * 모두 옮긴 뒤에는 content 컬럼을 직접 drop 한다. 컬럼이 없으면 아무것도 하지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostContentMigrator implements SmartInitializingSingleton {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PostContentConverter converter = new PostContentConverter();
+
+    /**
+     * 빈이 모두 만들어진 뒤, 웹 서버가 요청을 받기 전에 실행한다. 옮기는 동안 평문 본문만 있는 글이 조회되지 않고,
+     * ApplicationReadyEvent 에서 하는 검색 색인 재구성도 옮겨진 본문을 읽는다.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (hasLegacyColumn()) {
+            log.info("migrated {} legacy post contents", migrate());
+        }
+    }
+
+    public long migrate() {
+        long migrated = 0;
+        while (true) {
+            List<Object[]> batch = jdbcTemplate.query(
+                    "select id, content from post where content_data is null and content is not null order by id limit ?",
+                    (rs, rowNum) -> {
+                        String content = rs.getString("content");
+                        return new Object[]{converter.convertToDatabaseColumn(content), Post.excerptOf(content), rs.getLong("id")};
+                    },
+                    BATCH_SIZE);
+            if (batch.isEmpty()) {
+                return migrated;
+            }
+
+            jdbcTemplate.batchUpdate("update post set content_data = ?, excerpt = ? where id = ?", batch);
+            migrated += batch.size();
+        }
+    }
+
+    private boolean hasLegacyColumn() {
+        Integer count = jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.columns where upper(table_name) = 'POST' and upper(column_name) = 'CONTENT'",
+                Integer.class);
+        return count != null && count > 0;
+    }
+}
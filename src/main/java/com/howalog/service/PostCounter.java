@@ -0,0 +1,66 @@
+package com.howalog.service;
+
+import com.howalog.event.PostEvent;
+import com.howalog.repository.PostRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 전체 글 수. 목록 요청마다 count(*) 를 하지 않도록 작성/삭제 이벤트로 증감하고,
+ * 다른 인스턴스의 쓰기나 누락으로 생기는 오차는 주기적인 재집계로 바로잡는다.
+ */
+@Slf4j
+@Component
+public class PostCounter {
+
+    private final PostRepository postRepository;
+    private final PostWriteVersion postWriteVersion;
+    private final AtomicLong count = new AtomicLong();
+
+    public PostCounter(PostRepository postRepository, PostWriteVersion postWriteVersion, MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        this.postWriteVersion = postWriteVersion;
+        Gauge.builder("howalog.posts", count, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    public long get() {
+        return count.get();
+    }
+
+    @TransactionalEventListener
+    public synchronized void on(PostEvent event) {
+        switch (event.getType()) {
+            case CREATED -> count.incrementAndGet();
+            case DELETED -> count.decrementAndGet();
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * 세는 동안 커밋된 쓰기가 있으면 그 증감이 count(*) 에 들었는지 알 수 없으므로 이번 재집계는 버린다.
+     * 확인과 반영은 이벤트 증감과 같은 잠금 안에서 해서, 확인 뒤 커밋된 쓰기의 증감이 덮어써지지 않는다.
+     */
+    @Scheduled(fixedDelayString = "${howalog.post-count.resync-interval}")
+    public void resync() {
+        long version = postWriteVersion.begin();
+        long counted = postRepository.count();
+        synchronized (this) {
+            if (!postWriteVersion.isCurrent(version)) {
+                log.debug("post count resync skipped, posts changed while counting");
+                return;
+            }
+            long previous = count.getAndSet(counted);
+            if (previous != counted) {
+                log.debug("post count resynced {} -> {}", previous, counted);
+            }
+        }
+    }
+}
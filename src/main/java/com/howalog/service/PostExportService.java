@@ -0,0 +1,60 @@
+package com.howalog.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.howalog.repository.PostRepository;
+import com.howalog.response.PostResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 전체 글을 NDJSON(한 줄에 글 하나)으로 내보낸다.
+ * 결과 전체를 메모리에 올리지 않도록 DB 커서에서 읽는 대로 쓰고,
+ * CHUNK_SIZE 마다 출력을 flush 한다. 엔티티가 아닌 DTO 로 읽으므로 영속성 컨텍스트에 쌓이지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostExportService {
+
+    private static final int FETCH_SIZE = 500;
+    private static final int CHUNK_SIZE = 500;
+
+    private final PostRepository postRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void export(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(PostResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+
+        long count = 0;
+        try (Stream<PostResponse> posts = postRepository.streamAll(FETCH_SIZE)) {
+            Iterator<PostResponse> iterator = posts.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+
+                if (++count % CHUNK_SIZE == 0) {
+                    generator.flush();
+                }
+            }
+        } finally {
+            generator.close();
+        }
+        log.info("exported {} posts", count);
+    }
+}
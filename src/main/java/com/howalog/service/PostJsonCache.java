@@ -0,0 +1,117 @@
+package com.howalog.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.howalog.datasource.ReadYourWrites;
+import com.howalog.domain.PostTag;
+import com.howalog.repository.PostRepository;
+import com.howalog.response.PostJson;
+import com.howalog.response.PostResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.howalog.config.CacheConfig.POST_JSON;
+
+/**
+ * 글마다 PostResponse 를 UTF-8 JSON 바이트로 한 번만 직렬화해 캐시하고, 조회 응답은 그 바이트를 그대로 쓴다.
+ * 캐시에 있는 글은 조회 시 DB 접근도 객체 매핑도 하지 않는다. 수정/삭제 시 PostService 가 무효화한다.
+ * howalog.cache.post-json.enabled 가 false 면 컨트롤러는 기존처럼 PostResponse 를 돌려준다.
+ */
+@Service
+public class PostJsonCache {
+
+    private final boolean enabled;
+    private final PostService postService;
+    private final PostRepository postRepository;
+    private final PostWriteVersion postWriteVersion;
+    private final ObjectWriter writer;
+    private final Cache cache;
+
+    public PostJsonCache(@Value("${howalog.cache.post-json.enabled}") boolean enabled,
+                         PostService postService,
+                         PostRepository postRepository,
+                         PostWriteVersion postWriteVersion,
+                         ObjectMapper objectMapper,
+                         CacheManager cacheManager) {
+        this.enabled = enabled;
+        this.postService = postService;
+        this.postRepository = postRepository;
+        this.postWriteVersion = postWriteVersion;
+        this.writer = objectMapper.writerFor(PostResponse.class);
+        this.cache = cacheManager.getCache(POST_JSON);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 직렬화한 글과 그 버전 정보. 조건부 GET 판단도 이 값으로 하므로 캐시에 있으면 DB 에 가지 않는다.
+     * 그래서 캐시에는 원본에서 읽은 값만, 읽는 동안 커밋이 없었을 때만 남긴다({@link PostWriteVersion#fill}).
+     */
+    public PostJson.Item get(Long postId) {
+        PostJson.Item item = cache.get(postId, PostJson.Item.class);
+        if (item == null) {
+            long version = postWriteVersion.begin();
+            item = item(postService.get(postId));
+            postWriteVersion.fill(cache, postId, item, version);
+        }
+        return item;
+    }
+
+    /**
+     * ids 순서대로 이어 붙인다. 캐시에 없는 글은 원본에서 IN 한 번으로 읽어 직렬화하고, 그 사이 삭제된 글은 빠진다.
+     */
+    @Transactional(readOnly = true)
+    public PostJson getList(List<Long> ids) {
+        Map<Long, byte[]> items = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            PostJson.Item item = cache.get(id, PostJson.Item.class);
+            if (item != null) {
+                items.put(id, item.getJson());
+            } else {
+                misses.add(id);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            long version = postWriteVersion.begin();
+            for (PostResponse post : ReadYourWrites.onPrimary(() -> postRepository.findResponses(misses))) {
+                PostJson.Item item = item(post);
+                items.put(post.getId(), item.getJson());
+                postWriteVersion.fill(cache, post.getId(), item, version);
+            }
+        }
+
+        List<byte[]> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            byte[] json = items.get(id);
+            if (json != null) {
+                ordered.add(json);
+            }
+        }
+        return PostJson.array(ordered);
+    }
+
+    private PostJson.Item item(PostResponse post) {
+        return new PostJson.Item(serialize(post), new PostTag(post.getId(), post.getVersion(), post.getModifiedAt()));
+    }
+
+    private byte[] serialize(PostResponse post) {
+        try {
+            return writer.writeValueAsBytes(post);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("failed to serialize post " + post.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.howalog.service;
+
+import com.howalog.event.PostEvent;
+import com.howalog.repository.PostOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 글 변경 이벤트를 트랜잭션 동안 모아 두었다가 커밋 직전에 같은 트랜잭션으로 아웃박스에 기록한다.
+ * 롤백된 변경은 기록되지 않고, 커밋된 변경은 빠짐없이 기록된다.
+ * 배치 작성/일괄 삭제처럼 이벤트가 수천 건이어도 묶음마다 insert 한 문장으로 쓴다.
+ * <p>
+ * 오프셋을 받는 insert 부터 커밋이 끝날 때까지 commitOrder 를 잡아, 오프셋 순서와 커밋 순서를 같게 만든다.
+ * 그래서 어떤 오프셋이 보이면 그보다 작은 오프셋의 트랜잭션은 이미 끝난 것이고,
+ * 그때 비어 있는 번호는 롤백 등으로 버려진 번호다({@link PostChangeStream} 참고).
+ * 아웃박스를 쓰는 트랜잭션의 커밋 구간만 직렬화된다. 같은 DB 에 쓰는 인스턴스가 하나라는 전제다.
+ */
+@Slf4j
+@Component
+public class PostOutboxRecorder {
+
+    private final PostOutboxRepository postOutboxRepository;
+    private final Duration retention;
+    private final ReentrantLock commitOrder = new ReentrantLock();
+
+    public PostOutboxRecorder(PostOutboxRepository postOutboxRepository,
+                              @Value("${howalog.outbox.retention}") Duration retention) {
+        this.postOutboxRepository = postOutboxRepository;
+        this.retention = retention;
+    }
+
+    /**
+     * 트랜잭션 밖에서 발행된 이벤트는 기록하지 않는다.
+     */
+    @EventListener
+    public void on(PostEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.events.add(event);
+    }
+
+    /**
+     * 보관 기간이 지난 기록을 지운다. 그보다 오래된 오프셋으로 이어 받으려는 구독자는 남은 기록부터 받는다.
+     */
+    @Transactional
+    @Scheduled(fixedDelayString = "${howalog.outbox.cleanup-interval}")
+    public void cleanup() {
+        long deleted = postOutboxRepository.deleteBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.debug("deleted {} outbox records", deleted);
+        }
+    }
+
+    private class Pending implements TransactionSynchronization {
+
+        private final List<PostEvent> events = new ArrayList<>();
+        private boolean locked;
+
+        /**
+         * 밀린 변경은 잠그기 전에 먼저 반영한다. 잠근 채 다른 트랜잭션의 행 잠금을 기다리지 않게 하려는 것이다.
+         */
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            postOutboxRepository.flush();
+            commitOrder.lock();
+            locked = true;
+            postOutboxRepository.insertAll(events, LocalDateTime.now());
+        }
+
+        /**
+         * 커밋이든 롤백이든 끝난 뒤에 푼다. beforeCommit 과 같은 스레드에서 불린다.
+         */
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(PostOutboxRecorder.this);
+            if (locked) {
+                commitOrder.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.howalog.service;
+
+import com.howalog.event.PostEvent;
+import com.howalog.exception.InvalidRequest;
+import com.howalog.repository.PostRepository;
+import com.howalog.request.PostSearch;
+import com.howalog.response.PostResponse;
+import com.howalog.response.PostSearchResponse;
+import com.howalog.search.PostIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostSearchService {
+
+    private static final int FETCH_SIZE = 500;
+    /**
+     * 검색은 offset + limit 크기의 순위 큐를 만들므로 깊은 페이지는 받지 않는다.
+     */
+    private static final int MAX_DEPTH = 10_000;
+
+    private final PostIndex postIndex;
+    private final PostRepository postRepository;
+
+    public PostSearchResponse search(String keyword, PostSearch postSearch) {
+        if (keyword == null || keyword.isBlank()) {
+            throw new InvalidRequest("q", "검색어를 입력해 주세요");
+        }
+
+        if (postSearch.getOffset() + postSearch.getLimit() > MAX_DEPTH) {
+            throw new InvalidRequest("page", "검색 결과는 앞에서부터 " + MAX_DEPTH + "건까지만 볼 수 있습니다.");
+        }
+
+        PostIndex.Hits hits = postIndex.search(keyword, (int) postSearch.getOffset(), postSearch.getLimit());
+
+        Map<Long, PostResponse> posts = postRepository.findResponses(hits.getIds()).stream()
+                .collect(toMap(PostResponse::getId, Function.identity()));
+
+        // 색인 순위를 유지한다. 색인 반영 직후 삭제된 글은 건너뛴다.
+        List<PostResponse> responses = hits.getIds().stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
+                .collect(toList());
+
+        return new PostSearchResponse(hits.getTotal(), responses);
+    }
+
+    @TransactionalEventListener
+    public void on(PostEvent event) {
+        switch (event.getType()) {
+            case CREATED -> postIndex.index(event.getPostId(), event.getTitle(), event.getContent());
+            case EDITED -> reindex(event);
+            case DELETED -> postIndex.delete(event.getPostId());
+        }
+    }
+
+    private void reindex(PostEvent event) {
+        if (event.getTitle() != null && event.getContent() != null) {
+            postIndex.index(event.getPostId(), event.getTitle(), event.getContent());
+            return;
+        }
+
+        // 일부 필드만 바뀐 경우 색인 문서 전체를 다시 만들기 위해 현재 글을 읽는다.
+        postRepository.findResponse(event.getPostId())
+                .ifPresent(post -> postIndex.index(post.getId(), post.getTitle(), post.getContent()));
+    }
+
+    /**
+     * 시작 시 DB 기준으로 색인을 다시 만든다. 색인은 언제든 DB 로부터 복구할 수 있는 사본이다.
+     */
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        postIndex.clear();
+
+        long count = 0;
+        try (Stream<PostResponse> posts = postRepository.streamAll(FETCH_SIZE)) {
+            Iterator<PostResponse> iterator = posts.iterator();
+            while (iterator.hasNext()) {
+                PostResponse post = iterator.next();
+                postIndex.add(post.getId(), post.getTitle(), post.getContent());
+                count++;
+            }
+        }
+
+        postIndex.commit();
+        log.info("post index rebuilt with {} posts", count);
+    }
+}
@@ -1,20 +1,55 @@
 package com.howalog.service;
 
+import com.howalog.datasource.ReadYourWrites;
 import com.howalog.domain.Post;
-import com.howalog.domain.PostEditor;
+import com.howalog.domain.PostTag;
+import com.howalog.event.PostEvent;
+import com.howalog.exception.InvalidException;
+import com.howalog.exception.InvalidRequest;
+import com.howalog.exception.PostConflict;
 import com.howalog.exception.PostNotFound;
+import com.howalog.exception.PreconditionRequired;
+import com.howalog.moderation.PostModerator;
 import com.howalog.repository.PostRepository;
+import com.howalog.request.PostBulkDelete;
 import com.howalog.request.PostCreate;
+import com.howalog.request.PostCursor;
 import com.howalog.request.PostEdit;
 import com.howalog.request.PostSearch;
+import com.howalog.response.PostBatchItemResponse;
+import com.howalog.response.PostBatchResponse;
+import com.howalog.response.PostBulkDeleteResponse;
+import com.howalog.response.PostGetItemResponse;
+import com.howalog.response.PostPage;
 import com.howalog.response.PostResponse;
+import com.howalog.response.PostSliceResponse;
+import com.howalog.response.PostSummaryResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+import static com.howalog.config.CacheConfig.POST;
+import static com.howalog.config.CacheConfig.POST_JSON;
+import static com.howalog.config.CacheConfig.POST_LIST;
 import static java.util.stream.Collectors.toList;
 
 @Slf4j
@@ -22,52 +57,343 @@ import static java.util.stream.Collectors.toList;
 @RequiredArgsConstructor
 public class PostService {
 
+    private static final int MAX_BATCH_SIZE = 1_000;
+    private static final int MAX_GET_SIZE = 100;
+    private static final int DELETE_CHUNK_SIZE = 1_000;
+    private static final int MAX_BULK_DELETE_SIZE = 10_000;
+
     private final PostRepository postRepository;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final PostModerator postModerator;
+    private final PostWriteVersion postWriteVersion;
 
+    @Transactional
+    @CacheEvict(cacheNames = POST_LIST, allEntries = true)
     public void write(PostCreate postCreate) {
+        postModerator.check(postCreate.getTitle(), postCreate.getContent());
+
         Post post = Post.builder()
                 .title(postCreate.getTitle())
                 .content(postCreate.getContent())
                 .build();
 
         postRepository.save(post);
+        eventPublisher.publishEvent(PostEvent.created(post));
     }
 
-    public PostResponse get(Long postId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(PostNotFound::new);
+    /**
+     * 검증을 통과한 항목만 한 트랜잭션에서 배치 insert 한다.
+     * 실패한 항목은 전체를 롤백하지 않고 항목별 검증 결과로 돌려준다.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = POST_LIST, allEntries = true)
+    public PostBatchResponse writeAll(List<PostCreate> postCreates) {
+        if (postCreates.size() > MAX_BATCH_SIZE) {
+            throw new InvalidRequest("posts", "한 번에 최대 " + MAX_BATCH_SIZE + "개까지 작성할 수 있습니다.");
+        }
+
+        long start = System.nanoTime();
 
-        return PostResponse.builder()
-                .id(post.getId())
-                .title(post.getTitle())
-                .content(post.getContent())
+        int size = postCreates.size();
+        Post[] posts = new Post[size];
+        List<Map<String, String>> validations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            PostCreate postCreate = postCreates.get(i);
+            Map<String, String> validation = validate(postCreate);
+            validations.add(validation);
+            if (validation.isEmpty()) {
+                posts[i] = Post.builder()
+                        .title(postCreate.getTitle())
+                        .content(postCreate.getContent())
+                        .build();
+            }
+        }
+
+        List<Post> valid = Arrays.stream(posts)
+                .filter(Objects::nonNull)
+                .collect(toList());
+        postRepository.saveAllAndFlush(valid);
+        valid.forEach(post -> eventPublisher.publishEvent(PostEvent.created(post)));
+
+        List<PostBatchItemResponse> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(posts[i] != null
+                    ? PostBatchItemResponse.created(i, posts[i].getId())
+                    : PostBatchItemResponse.invalid(i, validations.get(i)));
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        return PostBatchResponse.builder()
+                .requested(size)
+                .created(valid.size())
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .rowsPerSecond(elapsedNanos == 0 ? 0 : valid.size() * 1_000_000_000.0 / elapsedNanos)
+                .items(items)
                 .build();
     }
 
-    public List<PostResponse> getList(PostSearch postSearch) {
-        return postRepository.getList(postSearch).stream()
-                .map(PostResponse::new)
+    /**
+     * 캐시에 들어가는 값이라 원본에서 읽는다. 복제본에서 읽으면 수정 커밋 뒤 캐시가 비워진 사이에
+     * 수정 전 글이 다시 캐시되어 TTL 동안 남는다. 읽는 동안 커밋이 있었으면 캐시에 남기지 않는다.
+     */
+    @Transactional(readOnly = true)
+    public PostResponse get(Long postId) {
+        Cache cache = cacheManager.getCache(POST);
+        PostResponse cached = cache.get(postId, PostResponse.class);
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = postWriteVersion.begin();
+        PostResponse post = ReadYourWrites.onPrimary(() -> postRepository.findResponse(postId))
+                .orElseThrow(PostNotFound::new);
+        postWriteVersion.fill(cache, postId, post, version);
+        return post;
+    }
+
+    /**
+     * 요청한 순서대로 돌려준다. 단건 캐시에 있는 글은 그대로 쓰고, 나머지는 원본에서 IN 한 번으로 조회해 캐시에 넣는다.
+     * 없는 글은 전체를 실패시키지 않고 그 항목에만 오류를 담는다.
+     */
+    @Transactional(readOnly = true)
+    public List<PostGetItemResponse> getAll(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.contains(null)) {
+            throw new InvalidRequest("ids", "조회할 글 id 를 입력해 주세요.");
+        }
+        if (ids.size() > MAX_GET_SIZE) {
+            throw new InvalidRequest("ids", "한 번에 최대 " + MAX_GET_SIZE + "개까지 조회할 수 있습니다.");
+        }
+
+        Cache cache = cacheManager.getCache(POST);
+        Map<Long, PostResponse> posts = new HashMap<>();
+        Set<Long> misses = new HashSet<>();
+        for (Long id : ids) {
+            PostResponse cached = cache.get(id, PostResponse.class);
+            if (cached != null) {
+                posts.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            long version = postWriteVersion.begin();
+            for (PostResponse post : ReadYourWrites.onPrimary(() -> postRepository.findResponses(misses))) {
+                posts.put(post.getId(), post);
+                postWriteVersion.fill(cache, post.getId(), post, version);
+            }
+        }
+
+        return ids.stream()
+                .map(id -> posts.containsKey(id)
+                        ? PostGetItemResponse.found(posts.get(id))
+                        : PostGetItemResponse.notFound(id))
                 .collect(toList());
     }
 
+    /**
+     * 캐시된 응답이 있으면 그 버전을, 없으면 본문 없이 버전 정보만 조회한다.
+     */
+    @Transactional(readOnly = true)
+    public PostTag getTag(Long postId) {
+        PostResponse cached = cacheManager.getCache(POST).get(postId, PostResponse.class);
+        if (cached != null) {
+            return new PostTag(cached.getId(), cached.getVersion(), cached.getModifiedAt());
+        }
+
+        return postRepository.findTag(postId)
+                .orElseThrow(PostNotFound::new);
+    }
+
+    @Transactional(readOnly = true)
+    public PostPage<List<PostResponse>> getList(PostSearch postSearch) {
+        if (postSearch.hasUnknownField()) {
+            throw new InvalidRequest("fields", "지원하지 않는 필드입니다. " + PostSearch.FIELDS);
+        }
+        if (!postSearch.isFullResponse()) {
+            return page(postSearch.getPageKey(), postSearch.isCachedPage(), () -> postRepository.getPartialList(postSearch));
+        }
+        return page(postSearch.getPageKey(), postSearch.isCachedPage(), () -> postRepository.getList(postSearch));
+    }
+
+    /**
+     * 목록 페이지의 글 id 만 조회한다. 본문은 JSON 바이트 캐시({@link PostJsonCache})에서 붙인다.
+     */
+    @Transactional(readOnly = true)
+    public PostPage<List<Long>> getListIds(PostSearch postSearch) {
+        return page("ids:" + postSearch.getPageKey(), postSearch.isCachedPage(), () -> postRepository.getIds(postSearch));
+    }
+
+    @Transactional(readOnly = true)
+    public PostPage<List<PostSummaryResponse>> getSummaryList(PostSearch postSearch) {
+        return page("summary:" + postSearch.getPageKey(), postSearch.isCachedPage(),
+                () -> postRepository.getSummaryList(postSearch));
+    }
+
+    @Transactional(readOnly = true)
+    public PostPage<PostSliceResponse> getSlice(PostSearch postSearch) {
+        return page(postSearch.getSliceKey(), postSearch.isFirstSlice(), () -> {
+            List<PostResponse> posts = postRepository.getSlice(postSearch);
+            int limit = postSearch.getLimit();
+
+            List<PostResponse> responses = posts.stream()
+                    .limit(limit)
+                    .collect(toList());
+
+            String nextCursor = posts.size() > limit
+                    ? PostCursor.encode(responses.get(limit - 1).getId())
+                    : null;
+
+            return new PostSliceResponse(responses, nextCursor);
+        });
+    }
+
+    /**
+     * 목록을 읽기 전 쓰기 버전을 잡고, 읽는 동안 커밋이 없었을 때만 그 버전과 함께 캐시한다.
+     * 캐시된 페이지도 버전이 지금과 같을 때만 쓴다. 무효화보다 늦게 채워진 옛 페이지가 새 ETag 로 나가지 않는다.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> PostPage<T> page(String key, boolean cacheable, Supplier<T> query) {
+        Cache cache = cacheManager.getCache(POST_LIST);
+        if (cacheable) {
+            PostPage<T> cached = cache.get(key, PostPage.class);
+            if (cached != null && postWriteVersion.isCurrent(cached.getVersion())) {
+                return cached;
+            }
+        }
+
+        long version = postWriteVersion.begin();
+        T body = query.get();
+        if (!postWriteVersion.isCurrent(version)) {
+            return PostPage.unversioned(body);
+        }
+
+        PostPage<T> page = new PostPage<>(body, version, postWriteVersion.getETag(version));
+        if (cacheable) {
+            cache.put(key, page);
+        }
+        return page;
+    }
+
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = POST, key = "#id"),
+            @CacheEvict(cacheNames = POST_JSON, key = "#id"),
+            @CacheEvict(cacheNames = POST_LIST, allEntries = true)
+    })
     public void edit(Long id, PostEdit postEdit) {
-        Post post = postRepository.findById(id)
-                .orElseThrow(PostNotFound::new);
+        if (postEdit == null || !postEdit.hasChanges()) {
+            if (!postRepository.existsById(id)) {
+                throw new PostNotFound();
+            }
+            return;
+        }
 
-        PostEditor postEditor = post.toEditor()
-                .title(postEdit.getTitle())
-                .content(postEdit.getContent())
-                .build();
+        // 버전 없이 고치면 그 사이 다른 수정을 말없이 덮어쓰므로 받지 않는다.
+        if (postEdit.getVersion() == null) {
+            throw new PreconditionRequired();
+        }
+        postModerator.check(postEdit.getTitle(), postEdit.getContent());
+
+        // 엔티티를 읽지 않고 바뀐 필드만 조건부 UPDATE 한 번으로 반영한다.
+        long updated = postRepository.update(id, postEdit.getVersion(), postEdit.getTitle(), postEdit.getContent());
+        if (updated == 0) {
+            if (postRepository.existsById(id)) {
+                throw new PostConflict();
+            }
+            throw new PostNotFound();
+        }
 
-        post.edit(postEditor);
+        eventPublisher.publishEvent(PostEvent.edited(id, postEdit.getTitle(), postEdit.getContent()));
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = POST, key = "#id"),
+            @CacheEvict(cacheNames = POST_JSON, key = "#id"),
+            @CacheEvict(cacheNames = POST_LIST, allEntries = true)
+    })
     public void delete(Long id) {
-        Post post = postRepository.findById(id)
-                .orElseThrow(PostNotFound::new);
+        if (postRepository.deletePost(id) == 0) {
+            throw new PostNotFound();
+        }
+        eventPublisher.publishEvent(PostEvent.deleted(id));
+    }
+
+    /**
+     * id 목록 또는 범위로 한 트랜잭션에서 DELETE_CHUNK_SIZE 개씩 IN 조건으로 나눠 지운다.
+     * 한 번에 MAX_BULK_DELETE_SIZE 개까지만 지우고, 남은 글이 있으면 hasMore 로 알린다.
+     */
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = POST, allEntries = true),
+            @CacheEvict(cacheNames = POST_JSON, allEntries = true),
+            @CacheEvict(cacheNames = POST_LIST, allEntries = true)
+    })
+    public PostBulkDeleteResponse deleteAll(PostBulkDelete postBulkDelete) {
+        if (postBulkDelete.hasIds()) {
+            if (postBulkDelete.getIds().size() > MAX_BULK_DELETE_SIZE) {
+                throw new InvalidRequest("ids", "한 번에 최대 " + MAX_BULK_DELETE_SIZE + "개까지 삭제할 수 있습니다.");
+            }
+            return new PostBulkDeleteResponse(deleteIds(postBulkDelete.getIds()), false);
+        }
+
+        if (!postBulkDelete.hasRange() || postBulkDelete.getFromId() > postBulkDelete.getToId()) {
+            throw new InvalidRequest("ids", "삭제할 글의 id 목록 또는 범위를 입력해 주세요");
+        }
+
+        long deleted = 0;
+        while (deleted < MAX_BULK_DELETE_SIZE) {
+            List<Long> ids = postRepository.getIdsBetween(postBulkDelete.getFromId(), postBulkDelete.getToId(),
+                    (int) Math.min(DELETE_CHUNK_SIZE, MAX_BULK_DELETE_SIZE - deleted));
+            if (ids.isEmpty()) {
+                return new PostBulkDeleteResponse(deleted, false);
+            }
+            deleted += deleteChunk(ids);
+        }
+
+        boolean hasMore = !postRepository.getIdsBetween(postBulkDelete.getFromId(), postBulkDelete.getToId(), 1)
+                .isEmpty();
+        return new PostBulkDeleteResponse(deleted, hasMore);
+    }
+
+    private long deleteIds(List<Long> ids) {
+        long deleted = 0;
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + DELETE_CHUNK_SIZE, ids.size()));
+            deleted += deleteChunk(postRepository.getExistingIds(chunk));
+        }
+        return deleted;
+    }
+
+    private long deleteChunk(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        long deleted = postRepository.deletePosts(ids);
+        ids.forEach(id -> eventPublisher.publishEvent(PostEvent.deleted(id)));
+        return deleted;
+    }
+
+    private Map<String, String> validate(PostCreate postCreate) {
+        Map<String, String> validation = new HashMap<>();
+        if (postCreate == null) {
+            validation.put("post", "게시글을 입력해 주세요");
+            return validation;
+        }
 
-        postRepository.delete(post);
+        for (ConstraintViolation<PostCreate> violation : validator.validate(postCreate)) {
+            validation.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        if (validation.isEmpty()) {
+            try {
+                postModerator.check(postCreate.getTitle(), postCreate.getContent());
+            } catch (InvalidException e) {
+                validation.putAll(e.getValidation());
+            }
+        }
+        return validation;
     }
-}
+}
\ No newline at end of file
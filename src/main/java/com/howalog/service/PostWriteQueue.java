@@ -0,0 +1,169 @@
+package com.howalog.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.howalog.exception.ServiceUnavailable;
+import com.howalog.exception.TooManyRequests;
+import com.howalog.exception.WriteRequestNotFound;
+import com.howalog.moderation.PostModerator;
+import com.howalog.request.PostCreate;
+import com.howalog.response.PostBatchItemResponse;
+import com.howalog.response.PostBatchResponse;
+import com.howalog.response.PostWriteStatusResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * 비동기 작성 요청을 담아 두는 제한된 큐.
+ * 요청 스레드는 큐에 넣고 바로 돌아가고, 백그라운드 writer 가 batch-size 단위로 모아
+ * {@link PostService#writeAll(List)} 한 트랜잭션으로 저장한다.
+ * 큐가 가득 차면 429 로 거절하고, 종료 시에는 남은 요청을 모두 저장한 뒤 멈춘다.
+ */
+@Slf4j
+@Component
+public class PostWriteQueue implements SmartLifecycle {
+
+    private static final long POLL_TIMEOUT_MILLIS = 200;
+
+    private final PostService postService;
+    private final PostModerator postModerator;
+    private final BlockingQueue<PendingWrite> queue;
+    private final int batchSize;
+    private final Cache<String, PostWriteStatusResponse> statuses;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public PostWriteQueue(PostService postService,
+                          PostModerator postModerator,
+                          @Value("${howalog.write-queue.capacity}") int capacity,
+                          @Value("${howalog.write-queue.batch-size}") int batchSize,
+                          @Value("${howalog.write-queue.status-retention}") Duration statusRetention,
+                          @Value("${howalog.write-queue.status-maximum-size}") long statusMaximumSize) {
+        this.postService = postService;
+        this.postModerator = postModerator;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(statusMaximumSize)
+                .expireAfterWrite(statusRetention)
+                .build();
+    }
+
+    /**
+     * 금칙어는 큐에 넣기 전에 바로 거절한다. 저장할 때 writeAll 에서 한 번 더 검사한다.
+     */
+    public PostWriteStatusResponse submit(PostCreate postCreate) {
+        if (!running) {
+            throw new ServiceUnavailable();
+        }
+        postModerator.check(postCreate.getTitle(), postCreate.getContent());
+
+        String trackingId = UUID.randomUUID().toString();
+        PostWriteStatusResponse pending = PostWriteStatusResponse.pending(trackingId);
+        statuses.put(trackingId, pending);
+
+        if (!queue.offer(new PendingWrite(trackingId, postCreate))) {
+            statuses.invalidate(trackingId);
+            throw new TooManyRequests();
+        }
+        return pending;
+    }
+
+    public PostWriteStatusResponse getStatus(String trackingId) {
+        PostWriteStatusResponse status = statuses.getIfPresent(trackingId);
+        if (status == null) {
+            throw new WriteRequestNotFound();
+        }
+        return status;
+    }
+
+    private void drain() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(POLL_TIMEOUT_MILLIS, MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("post write queue interrupted with {} pending writes", queue.size());
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        try {
+            PostBatchResponse response = postService.writeAll(batch.stream()
+                    .map(PendingWrite::postCreate)
+                    .collect(toList()));
+
+            for (PostBatchItemResponse item : response.getItems()) {
+                String trackingId = batch.get(item.getIndex()).trackingId();
+                statuses.put(trackingId, item.getId() != null
+                        ? PostWriteStatusResponse.done(trackingId, item.getId())
+                        : PostWriteStatusResponse.failed(trackingId, item.getValidation()));
+            }
+        } catch (RuntimeException e) {
+            log.error("failed to write {} queued posts", batch.size(), e);
+            for (PendingWrite pendingWrite : batch) {
+                statuses.put(pendingWrite.trackingId(),
+                        PostWriteStatusResponse.failed(pendingWrite.trackingId(), new HashMap<>()));
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::drain, "post-write-queue");
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("post write queue stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 웹 서버보다 먼저 시작하고 나중에 멈춘다. 새 요청이 끊긴 뒤에 큐를 비운다.
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    private record PendingWrite(String trackingId, PostCreate postCreate) {
+    }
+}
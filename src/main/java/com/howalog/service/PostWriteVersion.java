@@ -0,0 +1,102 @@
+package com.howalog.service;
+
+import com.howalog.event.PostEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 글을 바꾸는 트랜잭션이 커밋될 때마다 올라가는 전역 쓰기 버전. 목록 응답의 ETag 로 쓴다.
+ * 버전은 커밋 직전에 올리고, 커밋이 끝날 때까지 committing 으로 표시한다.
+ * 읽기는 begin 으로 버전을 잡고 읽은 뒤 isCurrent 로 그 사이 커밋이 없었는지 확인해야 그 버전의 결과로 쓸 수 있다.
+ * 재시작 후 같은 값이 다시 나오지 않도록 ETag 에 시작 시각을 함께 붙인다.
+ */
+@Component
+public class PostWriteVersion {
+
+    private final long startedAt = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicInteger committing = new AtomicInteger();
+
+    public long get() {
+        return version.get();
+    }
+
+    /**
+     * @return 지금 버전, 커밋 중인 쓰기가 있어 그 결과가 읽기에 보일지 알 수 없으면 -1
+     */
+    public long begin() {
+        long current = version.get();
+        return committing.get() == 0 ? current : -1;
+    }
+
+    /**
+     * begin 이후 커밋이 시작되지도 끝나지도 않았으면 그동안 읽은 값은 그 버전의 상태다.
+     */
+    public boolean isCurrent(long begun) {
+        return begun >= 0 && committing.get() == 0 && version.get() == begun;
+    }
+
+    /**
+     * begin 이후 읽은 값을 캐시에 넣는다. 넣은 뒤 그 사이 커밋이 있었으면 다시 지운다.
+     * 커밋 뒤 무효화보다 늦게 들어간 수정 전 값이 TTL 동안 남지 않는다.
+     * 트랜잭션 안이어도 커밋까지 미루지 않고 바로 넣어야 확인 순서가 맞으므로 트랜잭션 데코레이터를 벗겨 쓴다.
+     */
+    public void fill(Cache cache, Object key, Object value, long begun) {
+        if (begun < 0) {
+            return;
+        }
+        Cache target = cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+        target.put(key, value);
+        if (!isCurrent(begun)) {
+            target.evict(key);
+        }
+    }
+
+    public String getETag(long version) {
+        return "W/\"posts-" + startedAt + "-" + version + "\"";
+    }
+
+    /**
+     * 트랜잭션마다 한 번 커밋 전후를 표시한다. 트랜잭션 밖에서 발행된 이벤트는 이미 반영된 것이므로 바로 올린다.
+     */
+    @EventListener
+    public void on(PostEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            version.incrementAndGet();
+            return;
+        }
+
+        if (TransactionSynchronizationManager.getResource(this) == null) {
+            Committing pending = new Committing();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+    }
+
+    private class Committing implements TransactionSynchronization {
+
+        private boolean started;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            committing.incrementAndGet();
+            version.incrementAndGet();
+            started = true;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(PostWriteVersion.this);
+            if (started) {
+                committing.decrementAndGet();
+            }
+        }
+    }
+}
@@ -1,17 +1,28 @@
 package com.howalog.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.howalog.config.CacheConfig;
 import com.howalog.domain.Post;
+import com.howalog.repository.PostOutboxRepository;
 import com.howalog.repository.PostRepository;
+import com.howalog.request.ClientKey;
 import com.howalog.request.PostCreate;
 import com.howalog.request.PostEdit;
+import com.howalog.service.PostCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -19,6 +30,7 @@ import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -36,9 +48,23 @@ class PostControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PostCounter postCounter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PostOutboxRepository postOutboxRepository;
+
     @AfterEach
     void afterEach() {
         postRepository.deleteAll();
+        cacheManager.getCacheNames()
+                .forEach(name -> cacheManager.getCache(name).clear());
     }
 
     @Test
@@ -107,7 +133,8 @@ class PostControllerTest {
         assertThat(postRepository.count()).isEqualTo(1);
         Post post = postRepository.findAll().get(0);
         assertThat(post.getTitle()).isEqualTo(request.getTitle());
-        assertThat(post.getContent()).isEqualTo(request.getContent());
+        // 본문은 지연 로딩이므로 분리된 엔티티 대신 응답 조회로 확인한다.
+        assertThat(postRepository.findResponse(post.getId()).orElseThrow().getContent()).isEqualTo(request.getContent());
     }
 
     @Test
@@ -182,6 +209,7 @@ class PostControllerTest {
 
         PostEdit postEdit = PostEdit.builder()
                 .title("after_title")
+                .version(post.getVersion())
                 .build();
         String json = objectMapper.writeValueAsString(postEdit);
 
@@ -206,6 +234,7 @@ class PostControllerTest {
 
         PostEdit postEdit = PostEdit.builder()
                 .content("after_content")
+                .version(post.getVersion())
                 .build();
         String json = objectMapper.writeValueAsString(postEdit);
 
@@ -243,12 +272,40 @@ class PostControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    @DisplayName("버전 없이 글을 수정하면 428")
+    void editWithoutVersion() throws Exception {
+        // given
+        Post post = Post.builder()
+                .title("before_title")
+                .content("before_content")
+                .build();
+        postRepository.save(post);
+
+        String json = objectMapper.writeValueAsString(PostEdit.builder()
+                .title("after_title")
+                .build());
+
+        // expected
+        mockMvc.perform(patch("/posts/{postId}", post.getId())
+                        .contentType(APPLICATION_JSON)
+                        .content(json)
+                )
+                .andExpect(status().isPreconditionRequired())
+                .andExpect(jsonPath("$.code").value("428"))
+                .andExpect(jsonPath("$.validation.version").exists())
+                .andDo(print());
+
+        assertThat(postRepository.findResponse(post.getId()).get().getTitle()).isEqualTo("before_title");
+    }
+
     @Test
     @DisplayName("존재하지 않는 게시글 수정")
     void editNotExist() throws Exception {
         // given
         PostEdit postEdit = PostEdit.builder()
                 .content("after_content")
+                .version(0L)
                 .build();
         String json = objectMapper.writeValueAsString(postEdit);
 
@@ -278,4 +335,619 @@ class PostControllerTest {
                 .andExpect(status().isBadRequest())
                 .andDo(print());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("게시글 수정 시 본문에 욕설을 넣을 수 없습니다.")
+    void editNotAbuse() throws Exception {
+        // given
+        Post post = Post.builder()
+                .title("title")
+                .content("content")
+                .build();
+        postRepository.save(post);
+
+        PostEdit postEdit = PostEdit.builder()
+                .content("이게 무슨 병신 같은")
+                .version(post.getVersion())
+                .build();
+
+        // expected
+        mockMvc.perform(patch("/posts/{postId}", post.getId())
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(postEdit))
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validation.content").value("내용에 욕설을 포함할 수 없습니다."))
+                .andDo(print());
+
+        assertThat(postRepository.findResponse(post.getId()).get().getContent()).isEqualTo("content");
+    }
+
+    @Test
+    @DisplayName("커서로 글 여러개 조회")
+    void getPostSlice() throws Exception {
+        // given
+        List<Post> requestPosts = IntStream.range(1, 31)
+                .mapToObj(i -> Post.builder()
+                        .title("title_" + i)
+                        .content("content_" + i)
+                        .build())
+                .collect(Collectors.toList());
+        postRepository.saveAll(requestPosts);
+
+        // expected
+        mockMvc.perform(get("/posts?cursor=&size=10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts[0].title").value("title_30"))
+                .andExpect(jsonPath("$.posts[9].title").value("title_21"))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("잘못된 커서로 조회하면 400")
+    void getPostSliceInvalidCursor() throws Exception {
+        // expected
+        mockMvc.perform(get("/posts?cursor=invalid&size=10"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validation.cursor").value("잘못된 커서입니다."))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("/posts/batch 요청 시 항목별 결과를 돌려준다")
+    void postBatch() throws Exception {
+        // given
+        List<PostCreate> requests = List.of(
+                PostCreate.builder().title("제목").content("내용").build(),
+                PostCreate.builder().title("제목").build());
+        String json = objectMapper.writeValueAsString(requests);
+
+        // expected
+        mockMvc.perform(post("/posts/batch")
+                        .contentType(APPLICATION_JSON)
+                        .content(json)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(2))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.items[0].id").isNumber())
+                .andExpect(jsonPath("$.items[1].validation.content").value("컨텐츠를 입력해 주세요"))
+                .andDo(print());
+
+        assertThat(postRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("전체 글을 NDJSON 으로 내보낸다")
+    void exportPosts() throws Exception {
+        // given
+        List<Post> requestPosts = IntStream.range(1, 4)
+                .mapToObj(i -> Post.builder()
+                        .title("title_" + i)
+                        .content("content_" + i)
+                        .build())
+                .collect(Collectors.toList());
+        postRepository.saveAll(requestPosts);
+
+        MvcResult result = mockMvc.perform(get("/posts/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // expected
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readTree(lines[0]).get("title").asText()).isEqualTo("title_1");
+        assertThat(objectMapper.readTree(lines[2]).get("title").asText()).isEqualTo("title_3");
+    }
+
+    @Test
+    @DisplayName("/posts/async 요청 시 202 와 추적 id 를 돌려주고 곧 저장된다")
+    void postAsync() throws Exception {
+        // given
+        PostCreate request = PostCreate.builder()
+                .title("제목")
+                .content("내용")
+                .build();
+        String json = objectMapper.writeValueAsString(request);
+
+        // when
+        String body = mockMvc.perform(post("/posts/async")
+                        .contentType(APPLICATION_JSON)
+                        .content(json)
+                )
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andDo(print())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String trackingId = objectMapper.readTree(body).get("trackingId").asText();
+
+        // then
+        String status = "PENDING";
+        for (int i = 0; i < 50 && status.equals("PENDING"); i++) {
+            Thread.sleep(100);
+            String statusBody = mockMvc.perform(get("/posts/async/{trackingId}", trackingId))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            status = objectMapper.readTree(statusBody).get("status").asText();
+        }
+        mockMvc.perform(get("/posts/async/{trackingId}", trackingId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("DONE"))
+                .andExpect(jsonPath("$.postId").isNumber())
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("글 목록 조회 시 전체 글 수와 페이지 수를 헤더로 내려준다")
+    void getPostListTotal() throws Exception {
+        // given
+        List<Post> requestPosts = IntStream.range(1, 31)
+                .mapToObj(i -> Post.builder()
+                        .title("title_" + i)
+                        .content("content_" + i)
+                        .build())
+                .collect(Collectors.toList());
+        postRepository.saveAll(requestPosts);
+        postCounter.resync();
+
+        // expected
+        mockMvc.perform(get("/posts?page=1&size=10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "30"))
+                .andExpect(header().string("X-Total-Pages", "3"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("이전 버전으로 글을 수정하면 409")
+    void editPostConflict() throws Exception {
+        // given
+        Post post = Post.builder()
+                .title("before_title")
+                .content("before_content")
+                .build();
+        postRepository.save(post);
+
+        String json = objectMapper.writeValueAsString(PostEdit.builder()
+                .title("after_title")
+                .version(post.getVersion() - 1)
+                .build());
+
+        // expected
+        mockMvc.perform(patch("/posts/{postId}", post.getId())
+                        .contentType(APPLICATION_JSON)
+                        .content(json)
+                )
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("409"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("id 목록으로 글 여러개 삭제")
+    void deletePosts() throws Exception {
+        // given
+        List<Post> requestPosts = IntStream.range(1, 4)
+                .mapToObj(i -> Post.builder()
+                        .title("title_" + i)
+                        .content("content_" + i)
+                        .build())
+                .collect(Collectors.toList());
+        postRepository.saveAll(requestPosts);
+
+        // expected
+        mockMvc.perform(delete("/posts")
+                        .param("ids", requestPosts.get(0).getId() + "," + requestPosts.get(1).getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2))
+                .andDo(print());
+
+        assertThat(postRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("ETag 가 같으면 글 한개 조회 시 304")
+    void getPostNotModified() throws Exception {
+        // given
+        Post post = Post.builder()
+                .title("제목입니다")
+                .content("내용입니다")
+                .build();
+        postRepository.save(post);
+
+        String eTag = mockMvc.perform(get("/posts/{postId}", post.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        // expected
+        mockMvc.perform(get("/posts/{postId}", post.getId())
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("글이 수정되면 이전 ETag 로 조회해도 200")
+    void getPostModifiedAfterEdit() throws Exception {
+        // given
+        Post post = Post.builder()
+                .title("before_title")
+                .content("before_content")
+                .build();
+        postRepository.save(post);
+
+        String eTag = mockMvc.perform(get("/posts/{postId}", post.getId()))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(patch("/posts/{postId}", post.getId())
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(PostEdit.builder()
+                                .title("after_title")
+                                .version(post.getVersion())
+                                .build())))
+                .andExpect(status().isOk());
+
+        // expected
+        mockMvc.perform(get("/posts/{postId}", post.getId())
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("after_title"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("쓰기가 없으면 글 목록 조회 시 304")
+    void getPostListNotModified() throws Exception {
+        // given
+        String eTag = mockMvc.perform(get("/posts?page=1&size=10"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        // expected
+        mockMvc.perform(get("/posts?page=1&size=10")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("글 목록 조회 시 fields 로 본문을 빼고 받을 수 있다")
+    void getPostListFields() throws Exception {
+        // given
+        postRepository.save(Post.builder()
+                .title("title")
+                .content("content")
+                .build());
+
+        // expected
+        mockMvc.perform(get("/posts?page=1&size=10&fields=id,title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("title"))
+                .andExpect(jsonPath("$[0].content").doesNotExist())
+                .andDo(print());
+
+        mockMvc.perform(get("/posts?page=1&size=10&fields=password"))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("조회는 복제본에서 읽고 방금 쓴 클라이언트는 원본에서 읽는다")
+    void readYourWrites() throws Exception {
+        // given
+        PostCreate request = PostCreate.builder()
+                .title("제목")
+                .content("내용")
+                .build();
+        mockMvc.perform(post("/posts")
+                        .header(ClientKey.HEADER, "writer")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+        Counter primary = meterRegistry.counter("howalog.datasource.route", "target", "primary");
+        Counter replica = meterRegistry.counter("howalog.datasource.route", "target", "replica");
+
+        // expected
+        double replicaBefore = replica.count();
+        mockMvc.perform(get("/posts?page=1&size=10")
+                        .header(ClientKey.HEADER, "reader"))
+                .andExpect(status().isOk());
+        assertThat(replica.count()).isGreaterThan(replicaBefore);
+
+        cacheManager.getCache(CacheConfig.POST_LIST).clear();
+        cacheManager.getCache(CacheConfig.POST_JSON).clear();
+        replicaBefore = replica.count();
+        double primaryBefore = primary.count();
+        mockMvc.perform(get("/posts?page=1&size=10")
+                        .header(ClientKey.HEADER, "writer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("제목"));
+        assertThat(replica.count()).isEqualTo(replicaBefore);
+        assertThat(primary.count()).isGreaterThan(primaryBefore);
+    }
+
+    @Test
+    @DisplayName("단건 캐시를 채우는 조회는 복제본이 아니라 원본에서 읽는다")
+    void cacheFillReadsPrimary() throws Exception {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("제목")
+                .content("내용")
+                .build());
+        Counter replica = meterRegistry.counter("howalog.datasource.route", "target", "replica");
+
+        // expected
+        double replicaBefore = replica.count();
+        mockMvc.perform(get("/posts/{postId}", post.getId())
+                        .header(ClientKey.HEADER, "reader"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("제목"));
+        assertThat(replica.count()).isEqualTo(replicaBefore);
+    }
+
+    @Test
+    @DisplayName("요청별 SQL 문 수, 쿼리 시간, 에러 응답 수를 메트릭으로 남긴다")
+    void recordRequestMetrics() throws Exception {
+        // given
+        postRepository.save(Post.builder()
+                .title("title")
+                .content("content")
+                .build());
+        DistributionSummary statements = meterRegistry.summary("howalog.request.statements", "method", "GET", "uri", "/posts");
+        Timer query = meterRegistry.timer("howalog.query", "query", "getIds");
+        Counter errors = meterRegistry.counter("howalog.errors", "code", "404", "exception", "PostNotFound");
+        long statementsBefore = statements.count();
+        double statementsTotalBefore = statements.totalAmount();
+        long queryBefore = query.count();
+        double errorsBefore = errors.count();
+
+        // when
+        mockMvc.perform(get("/posts?page=1&size=7"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/posts/{postId}", 0L))
+                .andExpect(status().isNotFound());
+
+        // then
+        assertThat(statements.count()).isEqualTo(statementsBefore + 1);
+        assertThat(statements.totalAmount()).isGreaterThan(statementsTotalBefore);
+        assertThat(query.count()).isEqualTo(queryBefore + 1);
+        assertThat(errors.count()).isEqualTo(errorsBefore + 1);
+    }
+
+    @Test
+    @DisplayName("한 클라이언트가 쓰기 요청을 허용량보다 많이 보내면 429 를 받는다")
+    void rateLimitWrites() throws Exception {
+        // given
+        String json = objectMapper.writeValueAsString(PostEdit.builder()
+                .title("제목")
+                .version(0L)
+                .build());
+
+        // expected
+        MvcResult limited = null;
+        for (int i = 0; i < 100 && limited == null; i++) {
+            MvcResult result = mockMvc.perform(patch("/posts/{postId}", 1L)
+                            .header(ClientKey.HEADER, "flood")
+                            .contentType(APPLICATION_JSON)
+                            .content(json))
+                    .andReturn();
+            if (result.getResponse().getStatus() == 429) {
+                limited = result;
+            }
+        }
+        assertThat(limited).isNotNull();
+        assertThat(limited.getResponse().getHeader("Retry-After")).isNotNull();
+        assertThat(objectMapper.readTree(limited.getResponse().getContentAsString()).get("code").asText())
+                .isEqualTo("429");
+
+        mockMvc.perform(patch("/posts/{postId}", 1L)
+                        .header(ClientKey.HEADER, "other")
+                        .contentType(APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("글 여러개를 id 로 한 번에 조회한다")
+    void getPostsByIds() throws Exception {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("제목")
+                .content("내용")
+                .build());
+
+        // expected
+        mockMvc.perform(get("/posts?ids={id},{missing}", post.getId(), post.getId() + 1000))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].post.title").value("제목"))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].id").value(post.getId() + 1000))
+                .andExpect(jsonPath("$[1].error.code").value("404"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("R2DBC 경로로 글 한개와 목록을 조회한다")
+    void getPostReactive() throws Exception {
+        // given
+        List<Post> requestPosts = IntStream.range(1, 4)
+                .mapToObj(i -> Post.builder()
+                        .title("title_" + i)
+                        .content("content_" + i)
+                        .build())
+                .collect(Collectors.toList());
+        postRepository.saveAll(requestPosts);
+        Long postId = requestPosts.get(2).getId();
+
+        // expected
+        MvcResult single = mockMvc.perform(get("/reactive/posts/{postId}", postId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(single))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("title_3"))
+                .andExpect(jsonPath("$.content").value("content_3"))
+                .andDo(print());
+        assertThat(cacheManager.getCache(CacheConfig.POST).get(postId)).isNull();
+
+        MvcResult list = mockMvc.perform(get("/reactive/posts?page=1&size=2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(list))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("title").asText()).isEqualTo("title_3");
+
+        MvcResult partial = mockMvc.perform(get("/reactive/posts?page=1&size=2&fields=id,content&excerpt=4"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String partialBody = mockMvc.perform(asyncDispatch(partial))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        JsonNode first = objectMapper.readTree(partialBody.split("\n")[0]);
+        assertThat(first.has("title")).isFalse();
+        assertThat(first.get("content").asText()).isEqualTo("cont");
+    }
+
+    @Test
+    @DisplayName("글 변경을 SSE 로 오프셋 이후부터 묶어서 받는다")
+    void streamPostChanges() throws Exception {
+        // given
+        long offset = postOutboxRepository.getLastOffset();
+        MvcResult result = mockMvc.perform(get("/posts/events")
+                        .header("Last-Event-ID", offset))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        PostCreate request = PostCreate.builder()
+                .title("제목")
+                .content("내용")
+                .build();
+        mockMvc.perform(post("/posts")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+        Long postId = postRepository.findAll().get(0).getId();
+
+        // expected
+        String body = "";
+        for (int i = 0; i < 100 && !body.contains("\"postId\":" + postId); i++) {
+            Thread.sleep(100);
+            body = result.getResponse().getContentAsString();
+        }
+        assertThat(body).contains("event:posts");
+        assertThat(body).contains("\"type\":\"CREATED\"");
+        assertThat(body).contains("\"postId\":" + postId);
+    }
+
+    @Test
+    @DisplayName("아직 없는 오프셋으로 구독하면 지금 이후의 변경부터 받는다")
+    void streamPostChangesAheadOfHead() throws Exception {
+        // given
+        long offset = postOutboxRepository.getLastOffset() + 1_000;
+        MvcResult result = mockMvc.perform(get("/posts/events")
+                        .header("Last-Event-ID", offset))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        PostCreate request = PostCreate.builder()
+                .title("제목")
+                .content("내용")
+                .build();
+        mockMvc.perform(post("/posts")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+        Long postId = postRepository.findAll().get(0).getId();
+
+        // expected
+        String body = "";
+        for (int i = 0; i < 100 && !body.contains("\"postId\":" + postId); i++) {
+            Thread.sleep(100);
+            body = result.getResponse().getContentAsString();
+        }
+        assertThat(body).contains("\"postId\":" + postId);
+    }
+
+    @Test
+    @DisplayName("글 조회 응답은 직렬화해 둔 JSON 바이트를 쓰고 수정하면 다시 만든다")
+    void getPostJsonCache() throws Exception {
+        // given
+        List<Post> requestPosts = IntStream.range(1, 4)
+                .mapToObj(i -> Post.builder()
+                        .title("title_" + i)
+                        .content("content_" + i)
+                        .build())
+                .collect(Collectors.toList());
+        postRepository.saveAll(requestPosts);
+        Long postId = requestPosts.get(0).getId();
+
+        // expected
+        String body = mockMvc.perform(get("/posts/{postId}", postId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertThat(body).isEqualTo(objectMapper.writeValueAsString(postRepository.findResponse(postId).get()));
+        assertThat(cacheManager.getCache(CacheConfig.POST_JSON).get(postId)).isNotNull();
+
+        // 캐시된 버전으로 DB 없이 304 를 판단한다.
+        cacheManager.getCache(CacheConfig.POST).clear();
+        String etag = mockMvc.perform(get("/posts/{postId}", postId))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+        mockMvc.perform(get("/posts/{postId}", postId)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/posts?page=1&size=10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].title").value("title_3"))
+                .andExpect(jsonPath("$[2].title").value("title_1"))
+                .andDo(print());
+
+        mockMvc.perform(patch("/posts/{postId}", postId)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(PostEdit.builder()
+                                .title("수정한 제목")
+                                .version(requestPosts.get(0).getVersion())
+                                .build())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/posts/{postId}", postId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("수정한 제목"))
+                .andExpect(jsonPath("$.content").value("content_1"));
+    }
+}
@@ -1,22 +1,50 @@
 package com.howalog.service;
 
 import com.howalog.domain.Post;
+import com.howalog.event.PostEvent;
+import com.howalog.exception.InvalidException;
+import com.howalog.exception.InvalidRequest;
+import com.howalog.exception.PostConflict;
 import com.howalog.exception.PostNotFound;
+import com.howalog.moderation.PostModerator;
+import com.howalog.repository.PostOutboxRepository;
 import com.howalog.repository.PostRepository;
+import com.howalog.request.PostBulkDelete;
 import com.howalog.request.PostCreate;
 import com.howalog.request.PostEdit;
 import com.howalog.request.PostSearch;
+import com.howalog.response.PostBatchItemResponse;
+import com.howalog.response.PostBatchResponse;
+import com.howalog.response.PostBulkDeleteResponse;
+import com.howalog.response.PostChangeResponse;
+import com.howalog.response.PostGetItemResponse;
+import com.howalog.response.PostPage;
 import com.howalog.response.PostResponse;
+import com.howalog.response.PostSearchResponse;
+import com.howalog.response.PostSliceResponse;
+import com.howalog.response.PostSummaryResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static com.howalog.config.CacheConfig.POST;
+import static com.howalog.config.CacheConfig.POST_LIST;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -26,11 +54,28 @@ class PostServiceTest {
     @Autowired
     private PostService postService;
     @Autowired
+    private PostSearchService postSearchService;
+    @Autowired
+    private PostCounter postCounter;
+    @Autowired
     private PostRepository postRepository;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private PostContentMigrator postContentMigrator;
+    @Autowired
+    private PostOutboxRepository postOutboxRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PostWriteVersion postWriteVersion;
 
     @AfterEach
     void afterEach() {
         postRepository.deleteAll();
+        postOutboxRepository.deleteAll();
+        cacheManager.getCacheNames()
+                .forEach(name -> cacheManager.getCache(name).clear());
     }
 
     @Test
@@ -49,7 +94,8 @@ class PostServiceTest {
         assertThat(postRepository.count()).isEqualTo(1);
         Post post = postRepository.findAll().get(0);
         assertThat(post.getTitle()).isEqualTo(request.getTitle());
-        assertThat(post.getContent()).isEqualTo(request.getContent());
+        // 본문은 지연 로딩이므로 분리된 엔티티 대신 응답 조회로 확인한다.
+        assertThat(postRepository.findResponse(post.getId()).orElseThrow().getContent()).isEqualTo(request.getContent());
     }
 
     @Test
@@ -90,13 +136,43 @@ class PostServiceTest {
                 .build();
 
         // when
-        List<PostResponse> posts = postService.getList(postSearch);
+        List<PostResponse> posts = postService.getList(postSearch).getBody();
 
         // then
         assertThat(posts.size()).isEqualTo(10);
         assertThat(posts.get(0).getTitle()).isEqualTo("title_30");
     }
 
+    @Test
+    @DisplayName("size 가 0 이하면 기본 크기로 페이지를 나눈다")
+    void getPostListDefaultSize() {
+        // given
+        List<Post> requestPosts = IntStream.range(1, 31)
+                .mapToObj(i -> Post.builder()
+                        .title("title_" + i)
+                        .content("content_" + i)
+                        .build())
+                .collect(Collectors.toList());
+        postRepository.saveAll(requestPosts);
+
+        // when
+        List<PostResponse> third = postService.getList(PostSearch.builder()
+                .page(3)
+                .size(0)
+                .build())
+                .getBody();
+        List<PostResponse> second = postService.getList(PostSearch.builder()
+                .page(2)
+                .size(-1)
+                .build())
+                .getBody();
+
+        // then
+        assertThat(third.size()).isEqualTo(10);
+        assertThat(third.get(0).getTitle()).isEqualTo("title_10");
+        assertThat(second.get(0).getTitle()).isEqualTo("title_20");
+    }
+
     @Test
     @DisplayName("글 제목 수정")
     void editPostTitle() {
@@ -109,6 +185,7 @@ class PostServiceTest {
 
         PostEdit postEdit = PostEdit.builder()
                 .title("after_title")
+                .version(post.getVersion())
                 .build();
 
         // when
@@ -132,13 +209,14 @@ class PostServiceTest {
 
         PostEdit postEdit = PostEdit.builder()
                 .content("after_content")
+                .version(post.getVersion())
                 .build();
 
         // when
         postService.edit(post.getId(), postEdit);
 
         // then
-        Post changedPost = postRepository.findById(post.getId())
+        PostResponse changedPost = postRepository.findResponse(post.getId())
                 .orElseThrow(() -> new RuntimeException("글이 존재하지 않습니다. id = " + post.getId()));
         assertThat(changedPost.getContent()).isEqualTo("after_content");
     }
@@ -184,4 +262,576 @@ class PostServiceTest {
         assertThatThrownBy(() -> postService.edit(1L, null))
                 .isInstanceOf(PostNotFound.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("커서로 글 여러개 조회")
+    void getPostSlice() {
+        // given
+        List<Post> requestPosts = IntStream.range(1, 31)
+                .mapToObj(i -> Post.builder()
+                        .title("title_" + i)
+                        .content("content_" + i)
+                        .build())
+                .collect(Collectors.toList());
+        postRepository.saveAll(requestPosts);
+
+        PostSearch first = PostSearch.builder()
+                .size(10)
+                .build();
+
+        // when
+        PostSliceResponse firstSlice = postService.getSlice(first).getBody();
+        PostSliceResponse secondSlice = postService.getSlice(PostSearch.builder()
+                .cursor(firstSlice.getNextCursor())
+                .size(10)
+                .build())
+                .getBody();
+
+        // then
+        assertThat(firstSlice.getPosts().size()).isEqualTo(10);
+        assertThat(firstSlice.getPosts().get(0).getTitle()).isEqualTo("title_30");
+        assertThat(firstSlice.getNextCursor()).isNotNull();
+        assertThat(secondSlice.getPosts().get(0).getTitle()).isEqualTo("title_20");
+        assertThat(secondSlice.getPosts().get(9).getTitle()).isEqualTo("title_11");
+    }
+
+    @Test
+    @DisplayName("커서로 마지막 페이지 조회 시 다음 커서가 없다")
+    void getPostSliceLast() {
+        // given
+        List<Post> requestPosts = IntStream.range(1, 6)
+                .mapToObj(i -> Post.builder()
+                        .title("title_" + i)
+                        .content("content_" + i)
+                        .build())
+                .collect(Collectors.toList());
+        postRepository.saveAll(requestPosts);
+
+        // when
+        PostSliceResponse slice = postService.getSlice(PostSearch.builder()
+                .size(10)
+                .build())
+                .getBody();
+
+        // then
+        assertThat(slice.getPosts().size()).isEqualTo(5);
+        assertThat(slice.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("글 수정 시 캐시된 글이 무효화된다")
+    void editEvictsCache() {
+        // given
+        Post post = Post.builder()
+                .title("before_title")
+                .content("before_content")
+                .build();
+        postRepository.save(post);
+        postService.get(post.getId());
+
+        PostEdit postEdit = PostEdit.builder()
+                .title("after_title")
+                .content("after_content")
+                .version(post.getVersion())
+                .build();
+
+        // when
+        postService.edit(post.getId(), postEdit);
+
+        // then
+        PostResponse response = postService.get(post.getId());
+        assertThat(response.getTitle()).isEqualTo("after_title");
+        assertThat(response.getContent()).isEqualTo("after_content");
+    }
+
+    @Test
+    @DisplayName("글 작성 시 캐시된 목록이 무효화된다")
+    void writeEvictsListCache() {
+        // given
+        postRepository.save(Post.builder()
+                .title("title_1")
+                .content("content_1")
+                .build());
+
+        PostSearch postSearch = PostSearch.builder()
+                .page(1)
+                .size(10)
+                .build();
+        postService.getList(postSearch);
+
+        // when
+        postService.write(PostCreate.builder()
+                .title("title_2")
+                .content("content_2")
+                .build());
+
+        // then
+        List<PostResponse> posts = postService.getList(postSearch).getBody();
+        assertThat(posts.size()).isEqualTo(2);
+        assertThat(posts.get(0).getTitle()).isEqualTo("title_2");
+    }
+
+    @Test
+    @DisplayName("무효화 뒤 늦게 채워진 옛 버전의 목록은 쓰지 않고 다시 읽는다")
+    void staleListPageIgnored() {
+        // given
+        PostSearch postSearch = PostSearch.builder()
+                .page(1)
+                .size(10)
+                .build();
+        PostPage<List<PostResponse>> before = postService.getList(postSearch);
+
+        postService.write(PostCreate.builder()
+                .title("title")
+                .content("content")
+                .build());
+        cacheManager.getCache(POST_LIST).put(postSearch.getPageKey(), before);
+
+        // when
+        PostPage<List<PostResponse>> after = postService.getList(postSearch);
+
+        // then
+        assertThat(after.getBody().size()).isEqualTo(1);
+        assertThat(after.getETag()).isNotNull();
+        assertThat(after.getETag()).isNotEqualTo(before.getETag());
+    }
+
+    @Test
+    @DisplayName("요약 목록 조회 시 본문은 앞부분만 내려준다")
+    void getPostSummaryList() {
+        // given
+        String longContent = "가".repeat(PostSummaryResponse.EXCERPT_LENGTH + 100);
+        postRepository.save(Post.builder()
+                .title("title")
+                .content(longContent)
+                .build());
+
+        PostSearch postSearch = PostSearch.builder()
+                .page(1)
+                .size(10)
+                .build();
+
+        // when
+        List<PostSummaryResponse> posts = postService.getSummaryList(postSearch).getBody();
+
+        // then
+        assertThat(posts.size()).isEqualTo(1);
+        assertThat(posts.get(0).getTitle()).isEqualTo("title");
+        assertThat(posts.get(0).getExcerpt()).isEqualTo(longContent.substring(0, PostSummaryResponse.EXCERPT_LENGTH));
+    }
+
+    @Test
+    @DisplayName("글 여러개 작성 시 본문에 금칙어가 있는 항목은 본문 검증 결과로 돌려준다")
+    void writeAllBannedContent() {
+        // given
+        List<PostCreate> requests = List.of(
+                PostCreate.builder().title("title_1").content("content_1").build(),
+                PostCreate.builder().title("title_2").content("아 씨발 진짜").build());
+
+        // when
+        PostBatchResponse response = postService.writeAll(requests);
+
+        // then
+        assertThat(postRepository.count()).isEqualTo(1);
+        assertThat(response.getItems().get(0).getId()).isNotNull();
+        assertThat(response.getItems().get(1).getValidation()).containsEntry("content", "내용에 욕설을 포함할 수 없습니다.");
+    }
+
+    @Test
+    @DisplayName("금칙어 파일이 바뀌면 재시작 없이 다시 읽는다")
+    void reloadBannedWords(@TempDir Path dir) throws IOException {
+        // given
+        Path words = dir.resolve("banned-words.txt");
+        Files.writeString(words, "# comment\nfoo\n");
+        PostModerator moderator = new PostModerator(new FileSystemResource(words), new SimpleMeterRegistry());
+        moderator.check("bar", "content");
+
+        // when
+        Files.writeString(words, "foo\nBAR\n");
+        words.toFile().setLastModified(words.toFile().lastModified() + 1000);
+        moderator.reloadIfModified();
+
+        // then
+        assertThatThrownBy(() -> moderator.check("foobar", "content"))
+                .isInstanceOf(InvalidException.class)
+                .satisfies(e -> assertThat(((InvalidException) e).getValidation())
+                        .containsEntry("title", "제목에 욕설을 포함할 수 없습니다."));
+        assertThatThrownBy(() -> moderator.check("title", "a Bar b"))
+                .isInstanceOf(InvalidException.class);
+        moderator.check("title", "ba r");
+    }
+
+    @Test
+    @DisplayName("글 여러개 작성 시 검증에 실패한 항목만 제외된다")
+    void writeAllPosts() {
+        // given
+        List<PostCreate> requests = List.of(
+                PostCreate.builder().title("title_1").content("content_1").build(),
+                PostCreate.builder().content("content_2").build(),
+                PostCreate.builder().title("에라이ㅅㅂ").content("content_3").build(),
+                PostCreate.builder().title("title_4").content("content_4").build());
+
+        // when
+        PostBatchResponse response = postService.writeAll(requests);
+
+        // then
+        assertThat(postRepository.count()).isEqualTo(2);
+        assertThat(response.getRequested()).isEqualTo(4);
+        assertThat(response.getCreated()).isEqualTo(2);
+        assertThat(response.getItems().get(0).getId()).isNotNull();
+        assertThat(response.getItems().get(1).getValidation()).containsEntry("title", "타이틀을 입력해 주세요");
+        assertThat(response.getItems().get(2).getValidation()).containsKey("title");
+        assertThat(response.getItems().get(3).getId()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("검색어로 글을 찾으면 제목이 일치하는 글이 먼저 나온다")
+    void searchPosts() {
+        // given
+        postService.write(PostCreate.builder()
+                .title("lucene basics")
+                .content("about the spring framework")
+                .build());
+        postService.write(PostCreate.builder()
+                .title("spring boot")
+                .content("caching and lucene search")
+                .build());
+        postService.write(PostCreate.builder()
+                .title("unrelated")
+                .content("nothing to see")
+                .build());
+
+        PostSearch postSearch = PostSearch.builder()
+                .page(1)
+                .size(10)
+                .build();
+
+        // when
+        PostSearchResponse response = postSearchService.search("spring", postSearch);
+
+        // then
+        assertThat(response.getPosts().size()).isEqualTo(2);
+        assertThat(response.getPosts().get(0).getTitle()).isEqualTo("spring boot");
+    }
+
+    @Test
+    @DisplayName("검색 결과의 깊은 페이지는 요청할 수 없다")
+    void searchTooDeep() {
+        // given
+        PostSearch postSearch = PostSearch.builder()
+                .page(1_000_000)
+                .size(2_000)
+                .build();
+
+        // expected
+        assertThatThrownBy(() -> postSearchService.search("spring", postSearch))
+                .isInstanceOf(InvalidRequest.class);
+    }
+
+    @Test
+    @DisplayName("글 작성/삭제 시 전체 글 수가 증감한다")
+    void countPosts() {
+        // given
+        postCounter.resync();
+        long before = postCounter.get();
+
+        // when
+        postService.write(PostCreate.builder()
+                .title("title")
+                .content("content")
+                .build());
+        Post post = postRepository.findAll().get(0);
+
+        // then
+        assertThat(postCounter.get()).isEqualTo(before + 1);
+        postService.delete(post.getId());
+        assertThat(postCounter.get()).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("글 수정 시 바뀐 필드만 반영하고 버전을 올린다")
+    void editPostPartially() {
+        // given
+        Post post = Post.builder()
+                .title("before_title")
+                .content("before_content")
+                .build();
+        postRepository.save(post);
+
+        PostEdit postEdit = PostEdit.builder()
+                .title("after_title")
+                .version(post.getVersion())
+                .build();
+
+        // when
+        postService.edit(post.getId(), postEdit);
+
+        // then
+        PostResponse response = postService.get(post.getId());
+        assertThat(response.getTitle()).isEqualTo("after_title");
+        assertThat(response.getContent()).isEqualTo("before_content");
+        assertThat(response.getVersion()).isEqualTo(post.getVersion() + 1);
+    }
+
+    @Test
+    @DisplayName("게시글 수정 :: 버전 충돌")
+    void editConflict() {
+        // given
+        Post post = Post.builder()
+                .title("before_title")
+                .content("before_content")
+                .build();
+        postRepository.save(post);
+        Long readVersion = post.getVersion();
+
+        postService.edit(post.getId(), PostEdit.builder()
+                .title("first_edit")
+                .version(readVersion)
+                .build());
+
+        // expected
+        assertThatThrownBy(() -> postService.edit(post.getId(), PostEdit.builder()
+                .title("second_edit")
+                .version(readVersion)
+                .build()))
+                .isInstanceOf(PostConflict.class);
+    }
+
+    @Test
+    @DisplayName("id 범위로 글을 한꺼번에 삭제한다")
+    void deletePostsInRange() {
+        // given
+        List<Post> requestPosts = IntStream.range(1, 31)
+                .mapToObj(i -> Post.builder()
+                        .title("title_" + i)
+                        .content("content_" + i)
+                        .build())
+                .collect(Collectors.toList());
+        postRepository.saveAll(requestPosts);
+
+        PostBulkDelete postBulkDelete = PostBulkDelete.builder()
+                .fromId(requestPosts.get(0).getId())
+                .toId(requestPosts.get(9).getId())
+                .build();
+
+        // when
+        PostBulkDeleteResponse response = postService.deleteAll(postBulkDelete);
+
+        // then
+        assertThat(response.getDeleted()).isEqualTo(10);
+        assertThat(response.isHasMore()).isFalse();
+        assertThat(postRepository.count()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("id 목록으로 삭제하면 존재하는 글만 지운다")
+    void deletePostsByIds() {
+        // given
+        Post post = Post.builder()
+                .title("title")
+                .content("content")
+                .build();
+        postRepository.save(post);
+
+        PostBulkDelete postBulkDelete = PostBulkDelete.builder()
+                .ids(List.of(post.getId(), post.getId() + 1000))
+                .build();
+
+        // when
+        PostBulkDeleteResponse response = postService.deleteAll(postBulkDelete);
+
+        // then
+        assertThat(response.getDeleted()).isEqualTo(1);
+        assertThat(postRepository.count()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("글 목록 조회 시 요청한 필드와 본문 앞부분만 내려준다")
+    void getPostListFields() {
+        // given
+        postRepository.save(Post.builder()
+                .title("title")
+                .content("가".repeat(100))
+                .build());
+
+        PostSearch titleOnly = PostSearch.builder()
+                .fields(List.of("id", "title"))
+                .build();
+        PostSearch excerpt = PostSearch.builder()
+                .excerpt(10)
+                .build();
+
+        // when
+        List<PostResponse> titles = postService.getList(titleOnly).getBody();
+        List<PostResponse> excerpts = postService.getList(excerpt).getBody();
+
+        // then
+        assertThat(titles.get(0).getTitle()).isEqualTo("title");
+        assertThat(titles.get(0).getContent()).isNull();
+        assertThat(titles.get(0).getVersion()).isNull();
+        assertThat(excerpts.get(0).getContent()).isEqualTo("가".repeat(10));
+        assertThat(excerpts.get(0).getVersion()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("긴 본문은 압축해서 저장하고 조회 시 원문으로 돌려준다")
+    void compressContent() {
+        // given
+        String content = "하와로그 본문입니다. ".repeat(500);
+        Post post = postRepository.save(Post.builder()
+                .title("title")
+                .content(content)
+                .build());
+
+        // when
+        PostResponse response = postService.get(post.getId());
+
+        // then
+        Integer storedBytes = jdbcTemplate.queryForObject(
+                "select octet_length(content_data) from post where id = ?", Integer.class, post.getId());
+        assertThat(storedBytes).isLessThan(content.getBytes(StandardCharsets.UTF_8).length / 10);
+        assertThat(response.getContent()).isEqualTo(content);
+    }
+
+    @Test
+    @DisplayName("압축 이전 평문 본문을 압축 컬럼으로 옮긴다")
+    void migrateLegacyContent() {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("title")
+                .content("legacy")
+                .build());
+        jdbcTemplate.execute("alter table post add column content clob");
+        jdbcTemplate.update("update post set content = ?, content_data = null, excerpt = null where id = ?",
+                "평문 본문", post.getId());
+
+        try {
+            // when
+            long migrated = postContentMigrator.migrate();
+
+            // then
+            assertThat(migrated).isEqualTo(1L);
+            assertThat(postService.get(post.getId()).getContent()).isEqualTo("평문 본문");
+        } finally {
+            jdbcTemplate.execute("alter table post drop column content");
+        }
+    }
+
+    @Test
+    @DisplayName("글 엔티티 조회 시 본문은 읽지 않는다")
+    void contentIsLazy() {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("title")
+                .content("content")
+                .build());
+
+        // when
+        Post found = postRepository.findById(post.getId()).orElseThrow();
+
+        // then
+        assertThat(found.getTitle()).isEqualTo("title");
+        assertThat(Hibernate.isPropertyInitialized(found, "content")).isFalse();
+        assertThat(postService.get(post.getId()).getContent()).isEqualTo("content");
+    }
+
+    @Test
+    @DisplayName("여러 글을 요청한 순서대로 조회하고 없는 글은 항목별로 알려준다")
+    void getPosts() {
+        // given
+        Post first = postRepository.save(Post.builder()
+                .title("first")
+                .content("content")
+                .build());
+        Post second = postRepository.save(Post.builder()
+                .title("second")
+                .content("content")
+                .build());
+        postService.get(first.getId());
+        Long missingId = second.getId() + 1000;
+
+        // when
+        List<PostGetItemResponse> items = postService.getAll(List.of(second.getId(), missingId, first.getId()));
+
+        // then
+        assertThat(items).extracting(PostGetItemResponse::getId)
+                .containsExactly(second.getId(), missingId, first.getId());
+        assertThat(items.get(0).getPost().getTitle()).isEqualTo("second");
+        assertThat(items.get(1).getPost()).isNull();
+        assertThat(items.get(1).getError().getCode()).isEqualTo("404");
+        assertThat(items.get(2).getPost().getTitle()).isEqualTo("first");
+        assertThat(cacheManager.getCache(POST).get(second.getId())).isNotNull();
+    }
+
+    @Test
+    @DisplayName("읽는 동안 커밋된 글이 있으면 읽은 값을 캐시에 남기지 않는다")
+    void fillSkippedAfterCommit() {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("before_title")
+                .content("content")
+                .build());
+        long version = postWriteVersion.begin();
+        PostResponse before = postService.get(post.getId());
+        cacheManager.getCache(POST).clear();
+
+        // when
+        postService.edit(post.getId(), PostEdit.builder()
+                .title("after_title")
+                .version(before.getVersion())
+                .build());
+        postWriteVersion.fill(cacheManager.getCache(POST), post.getId(), before, version);
+
+        // then
+        assertThat(cacheManager.getCache(POST).get(post.getId())).isNull();
+        assertThat(postService.get(post.getId()).getTitle()).isEqualTo("after_title");
+    }
+
+    @Test
+    @DisplayName("글 변경은 같은 트랜잭션에서 아웃박스에 기록되고 롤백되면 남지 않는다")
+    void recordOutbox() {
+        // given
+        PostCreate request = PostCreate.builder()
+                .title("제목")
+                .content("내용")
+                .build();
+        postService.write(request);
+        Post post = postRepository.findAll().get(0);
+
+        // when
+        assertThatThrownBy(() -> postService.edit(post.getId(), PostEdit.builder()
+                .title("충돌")
+                .version(post.getVersion() + 1)
+                .build()))
+                .isInstanceOf(PostConflict.class);
+        postService.delete(post.getId());
+
+        // then
+        List<PostChangeResponse> changes = postOutboxRepository.getChanges(0, Long.MAX_VALUE, 10);
+        assertThat(changes).extracting(PostChangeResponse::getType)
+                .containsExactly(PostEvent.Type.CREATED, PostEvent.Type.DELETED);
+        assertThat(changes).extracting(PostChangeResponse::getPostId)
+                .containsOnly(post.getId());
+    }
+
+    @Test
+    @DisplayName("글 여러개 작성 시 아웃박스에 이어지는 오프셋으로 한꺼번에 기록된다")
+    void recordOutboxBatch() {
+        // given
+        long offset = postOutboxRepository.getLastOffset();
+        List<PostCreate> requests = IntStream.range(0, 3)
+                .mapToObj(i -> PostCreate.builder().title("title_" + i).content("content_" + i).build())
+                .collect(Collectors.toList());
+
+        // when
+        PostBatchResponse response = postService.writeAll(requests);
+
+        // then
+        List<PostChangeResponse> changes = postOutboxRepository.getChanges(offset, Long.MAX_VALUE, 10);
+        assertThat(changes).extracting(PostChangeResponse::getType)
+                .containsOnly(PostEvent.Type.CREATED);
+        assertThat(changes).extracting(PostChangeResponse::getPostId)
+                .containsExactly(response.getItems().stream().map(PostBatchItemResponse::getId).toArray(Long[]::new));
+        assertThat(changes.get(2).getOffset() - changes.get(0).getOffset()).isEqualTo(2);
+    }
+}